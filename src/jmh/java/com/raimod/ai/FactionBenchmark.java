@@ -0,0 +1,43 @@
+package com.raimod.ai;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Hostility checks between squads, issued for every survivor pair that meets.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FactionBenchmark {
+    private static final int SQUADS = 64;
+
+    private FactionRegistry registry;
+    private UUID[] squads;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        registry = new FactionRegistry();
+        Random random = new Random(42L);
+        squads = new UUID[SQUADS];
+        for (int i = 0; i < SQUADS; i++) {
+            squads[i] = new UUID(random.nextLong(), random.nextLong());
+            registry.assignSquad(squads[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean areHostile() {
+        cursor = (cursor + 1) & (SQUADS - 1);
+        return registry.areHostile(squads[cursor], squads[(cursor * 7 + 3) & (SQUADS - 1)]);
+    }
+}
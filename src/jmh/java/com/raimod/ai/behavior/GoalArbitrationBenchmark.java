@@ -0,0 +1,76 @@
+package com.raimod.ai.behavior;
+
+import com.raimod.ai.behavior.goals.Goal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of one {@link BehaviorEngine} arbitration pass, isolated from goal bodies by fixed-score stub goals whose
+ * bound equals their score, so the early exit triggers as it would for real goals.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GoalArbitrationBenchmark {
+    @Param({"6", "24"})
+    int goalCount;
+
+    private BehaviorEngine engine;
+    private SurvivorContext context;
+    private final int[] executions = new int[1];
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42L);
+        List<Goal> goals = new ArrayList<>(goalCount);
+        for (int i = 0; i < goalCount; i++) {
+            goals.add(new StubGoal(random.nextDouble() - 0.2, i % 3 == 0, executions));
+        }
+        engine = new BehaviorEngine(goals);
+        context = new SurvivorContext(null, null, null, null);
+    }
+
+    @Benchmark
+    public int tick() {
+        engine.tick(context);
+        return executions[0];
+    }
+
+    @Benchmark
+    public int tickStrategic() {
+        engine.tickStrategic(context);
+        return executions[0];
+    }
+
+    private record StubGoal(double fixedScore, boolean strategic, int[] executions) implements Goal {
+        @Override
+        public double score(SurvivorContext context) {
+            return fixedScore;
+        }
+
+        @Override
+        public void execute(SurvivorContext context) {
+            executions[0]++;
+        }
+
+        @Override
+        public double maxScore() {
+            return fixedScore;
+        }
+
+        @Override
+        public boolean isStrategic() {
+            return strategic;
+        }
+    }
+}
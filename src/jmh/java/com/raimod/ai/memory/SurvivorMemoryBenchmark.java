@@ -0,0 +1,73 @@
+package com.raimod.ai.memory;
+
+import com.raimod.bench.BenchBootstrap;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Loot classification and raid target selection on {@link SurvivorMemory}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SurvivorMemoryBenchmark {
+    @Param({"16", "256"})
+    int raidTargets;
+
+    private SurvivorMemory memory;
+    private ItemStack priorityStack;
+    private ItemStack junkStack;
+
+    @Setup
+    public void setup() {
+        BenchBootstrap.init();
+        memory = SurvivorMemory.createEmpty(new UUID(0L, 1L));
+        memory.addPriorityLootToken("tacz");
+        memory.addPriorityLootToken("ammo");
+        memory.addPriorityLootToken("medkit");
+        memory.addPriorityLootToken("diamond");
+
+        Random random = new Random(42L);
+        for (int i = 0; i < raidTargets; i++) {
+            memory.rememberRaidTarget(new RaidTargetKnowledge("base_" + i,
+                new BlockPos(random.nextInt(4096) - 2048, 64, random.nextInt(4096) - 2048),
+                random.nextInt(24), random.nextInt(6), random.nextDouble() * 500.0, random.nextDouble() * 200.0,
+                random.nextInt(4), random.nextBoolean()));
+        }
+
+        priorityStack = new ItemStack(Items.DIAMOND_SWORD);
+        junkStack = new ItemStack(Items.COBBLESTONE);
+    }
+
+    @Benchmark
+    public boolean isPriorityLootHit() {
+        return memory.isPriorityLoot(priorityStack);
+    }
+
+    @Benchmark
+    public boolean isPriorityLootMiss() {
+        return memory.isPriorityLoot(junkStack);
+    }
+
+    @Benchmark
+    public int lootScore() {
+        return SurvivorMemory.lootScore(priorityStack) + SurvivorMemory.lootScore(junkStack);
+    }
+
+    @Benchmark
+    public RaidTargetKnowledge bestRaidCandidate() {
+        return memory.bestRaidCandidate();
+    }
+}
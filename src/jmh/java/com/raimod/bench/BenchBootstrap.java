@@ -0,0 +1,23 @@
+package com.raimod.bench;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+
+/**
+ * Loads vanilla registries once per benchmark fork so item stacks and registry lookups work outside a server.
+ */
+public final class BenchBootstrap {
+    private static boolean initialized;
+
+    private BenchBootstrap() {
+    }
+
+    public static synchronized void init() {
+        if (initialized) {
+            return;
+        }
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        initialized = true;
+    }
+}
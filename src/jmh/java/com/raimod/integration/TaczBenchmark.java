@@ -0,0 +1,69 @@
+package com.raimod.integration;
+
+import java.util.concurrent.TimeUnit;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.phys.Vec3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Ballistics solve and gun tag lookups used on every shot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaczBenchmark {
+    private final Vec3 shooterEye = new Vec3(0.5, 65.62, 0.5);
+    private final Vec3 targetPos = new Vec3(42.0, 64.9, -17.0);
+    private final Vec3 targetVel = new Vec3(0.12, 0.0, -0.08);
+    private final ModIntegrationRegistry.TaczBulletData bullet = new ModIntegrationRegistry.TaczBulletData(90.0, 0.05);
+    private CompoundTag flatTag;
+    private CompoundTag nestedTag;
+    private double noise;
+
+    @Setup
+    public void setup() {
+        flatTag = new CompoundTag();
+        flatTag.putDouble("BulletSpeed", 120.0);
+        flatTag.putDouble("Gravity", 0.04);
+
+        // TacZ-like layout: the numeric keys live three compounds deep beside unrelated siblings.
+        CompoundTag data = new CompoundTag();
+        data.putDouble("MuzzleVelocity", 140.0);
+        data.putDouble("ProjectileGravity", 0.03);
+        CompoundTag attachments = new CompoundTag();
+        attachments.putString("Scope", "tacz:scope_4x");
+        attachments.putString("Muzzle", "tacz:suppressor");
+        CompoundTag gun = new CompoundTag();
+        gun.put("Attachments", attachments);
+        gun.put("Data", data);
+        nestedTag = new CompoundTag();
+        nestedTag.putString("GunId", "tacz:ak47");
+        nestedTag.putInt("CurrentAmmo", 30);
+        nestedTag.put("Gun", gun);
+    }
+
+    @Benchmark
+    public Vec3 solveLeadShot() {
+        noise = noise > 0.4 ? -0.5 : noise + 0.01;
+        return ModIntegrationRegistry.TaczBridge.solveLeadShot(shooterEye, targetPos, targetVel, bullet, 2.5, 0.6f,
+            noise, -noise);
+    }
+
+    @Benchmark
+    public double firstNumericFlat() {
+        return ModIntegrationRegistry.TaczHelper.firstNumeric(flatTag, "AmmoSpeed", "Velocity", "BulletSpeed",
+            "MuzzleVelocity");
+    }
+
+    @Benchmark
+    public double firstNumericNested() {
+        return ModIntegrationRegistry.TaczHelper.firstNumeric(nestedTag, "AmmoSpeed", "Velocity", "BulletSpeed",
+            "MuzzleVelocity");
+    }
+}
@@ -0,0 +1,126 @@
+package com.raimod.persistence;
+
+import com.raimod.ai.memory.RaidTargetKnowledge;
+import com.raimod.ai.memory.WorldKnowledgePoint;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.StringTag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Survivor memory encode/decode: the binary codec used by the journal against the legacy NBT layout.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SurvivorCodecBenchmark {
+    private static final String[] CATEGORIES = {"ore", "loot", "danger", "water", "shelter"};
+
+    @Param({"32", "512"})
+    int knowledgeSize;
+
+    private SurvivorSnapshot snapshot;
+    private byte[] encoded;
+    private byte[] legacyNbt;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(42L);
+        List<BlockPos> chests = new ArrayList<>();
+        List<RaidTargetKnowledge> raids = new ArrayList<>();
+        List<WorldKnowledgePoint> points = new ArrayList<>();
+        Map<UUID, Float> relations = new HashMap<>();
+        BlockPos home = new BlockPos(random.nextInt(2000), 70, random.nextInt(2000));
+        for (int i = 0; i < knowledgeSize; i++) {
+            BlockPos near = home.offset(random.nextInt(256) - 128, random.nextInt(40) - 20, random.nextInt(256) - 128);
+            chests.add(near);
+            points.add(new WorldKnowledgePoint("point_" + i, near, CATEGORIES[random.nextInt(CATEGORIES.length)],
+                random.nextFloat(), 24_000L * i + random.nextInt(1000), random.nextBoolean()));
+            if (i % 4 == 0) {
+                raids.add(new RaidTargetKnowledge("base_" + i, near, random.nextInt(24), random.nextInt(6),
+                    random.nextDouble() * 500.0, random.nextDouble() * 200.0, random.nextInt(4), random.nextBoolean()));
+                relations.put(new UUID(random.nextLong(), random.nextLong()), random.nextFloat() * 2.0f - 1.0f);
+            }
+        }
+        snapshot = new SurvivorSnapshot(new UUID(random.nextLong(), random.nextLong()), 0L, home, List.copyOf(chests),
+            Map.copyOf(relations), List.copyOf(raids), List.copyOf(points));
+        encoded = SurvivorMemoryCodec.encode(snapshot);
+        legacyNbt = writeNbt(legacyTag(snapshot));
+    }
+
+    @Benchmark
+    public byte[] codecEncode() {
+        return SurvivorMemoryCodec.encode(snapshot);
+    }
+
+    @Benchmark
+    public SurvivorSnapshot codecDecode() throws IOException {
+        return SurvivorMemoryCodec.decode(encoded);
+    }
+
+    @Benchmark
+    public byte[] journalFullRecordEncode() throws IOException {
+        return writeNbt(new SurvivorDelta.Full(snapshot).toTag());
+    }
+
+    @Benchmark
+    public SurvivorSnapshot legacyNbtDecode() throws IOException {
+        CompoundTag tag = NbtIo.read(new DataInputStream(new ByteArrayInputStream(legacyNbt)), NbtAccounter.unlimitedHeap());
+        return SurvivorSnapshot.fromTag(tag);
+    }
+
+    private static byte[] writeNbt(CompoundTag tag) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        NbtIo.write(tag, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Builds the pre-codec NBT layout that {@link SurvivorSnapshot#fromTag} still reads for migration.
+     */
+    private static CompoundTag legacyTag(SurvivorSnapshot snapshot) {
+        CompoundTag root = new CompoundTag();
+        root.putUUID("Id", snapshot.id());
+        root.putLong("HomePos", snapshot.homePosition().asLong());
+        ListTag chests = new ListTag();
+        snapshot.knownChests().forEach(chest -> chests.add(StringTag.valueOf(Long.toString(chest.asLong()))));
+        root.put("KnownChests", chests);
+        ListTag relations = new ListTag();
+        snapshot.relations().forEach((id, value) -> {
+            CompoundTag relation = new CompoundTag();
+            relation.putUUID("Player", id);
+            relation.putFloat("Value", value);
+            relations.add(relation);
+        });
+        root.put("Relations", relations);
+        ListTag raids = new ListTag();
+        snapshot.raidTargets().forEach(raid -> raids.add(SurvivorSnapshot.raidToTag(raid)));
+        root.put("RaidTargets", raids);
+        ListTag points = new ListTag();
+        snapshot.worldPoints().forEach(point -> points.add(SurvivorSnapshot.pointToTag(point)));
+        root.put("WorldPoints", points);
+        return root;
+    }
+}
@@ -0,0 +1,357 @@
+package com.raimod.sim;
+
+import com.raimod.ai.GroupManager;
+import com.raimod.ai.behavior.BehaviorEngine;
+import com.raimod.ai.behavior.SurvivorContext;
+import com.raimod.ai.behavior.goals.BaseDefenseGoal;
+import com.raimod.ai.behavior.goals.CampingGoal;
+import com.raimod.ai.behavior.goals.CombatReactionGoal;
+import com.raimod.ai.behavior.goals.Goal;
+import com.raimod.ai.behavior.goals.LootRecoveryGoal;
+import com.raimod.ai.behavior.goals.RaidGoal;
+import com.raimod.ai.memory.RaidTargetKnowledge;
+import com.raimod.ai.memory.SurvivorMemory;
+import com.raimod.ai.memory.WorldKnowledgePoint;
+import com.raimod.ai.world.AgentView;
+import com.raimod.bench.BenchBootstrap;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Drives hundreds of survivors through perception, memory and goal arbitration against a {@link VoxelWorld}, without
+ * a Minecraft server.
+ *
+ * <p>Goal bodies still drive live entities, so the kernel runs the real scoring and arbitration and then applies a
+ * synthetic action for the selected goal: move, shoot, breach a wall, recover a corpse. Run {@link #main} for a
+ * quick ns/survivor-tick and allocation report, or {@link HeadlessSimulationBenchmark} for JMH numbers.
+ */
+public final class HeadlessSimulation {
+    private static final int PERCEPTION_PERIOD_TICKS = 4;
+    private static final int GOAL_PERIOD_TICKS = 2;
+    private static final int MEMORY_REVALIDATION_SECONDS = 60;
+    private static final double VIEW_RANGE = 48.0;
+    private static final double HOUSE_SPOT_RANGE = 40.0;
+    private static final double WALK_SPEED = 0.22;
+    private static final int WORLD_HEIGHT = 64;
+
+    private final VoxelWorld world;
+    private final Random random;
+    private final List<SimAgent> players = new ArrayList<>();
+    private final Survivor[] survivors;
+    private long ticks;
+
+    public HeadlessSimulation(long seed, int survivorCount) {
+        BenchBootstrap.init();
+        GroupManager.instance().clear();
+
+        int side = Math.max(192, (int) Math.sqrt(survivorCount * 1024.0));
+        this.world = new VoxelWorld(seed, side, WORLD_HEIGHT, side);
+        this.random = new Random(seed ^ 0x5DEECE66DL);
+
+        int playerCount = Math.max(1, survivorCount / 25);
+        for (int i = 0; i < playerCount; i++) {
+            SimAgent player = new SimAgent(new UUID(1L, i), true, randomSurface());
+            player.setArmed(true);
+            players.add(player);
+            world.addAgent(player);
+        }
+
+        this.survivors = new Survivor[survivorCount];
+        for (int i = 0; i < survivorCount; i++) {
+            UUID id = new UUID(2L, i);
+            SimAgent body = new SimAgent(id, false, randomSurface());
+            body.setArmed(random.nextFloat() < 0.8f);
+            world.addAgent(body);
+
+            SurvivorMemory memory = SurvivorMemory.createEmpty(id);
+            memory.setHomePosition(body.blockPosition());
+            GroupManager.instance().registerMember(id);
+
+            SurvivorContext context = SurvivorContext.headless(null, world, body, memory);
+            survivors[i] = new Survivor(body, memory, new BehaviorEngine(), context,
+                Math.floorMod(id.hashCode(), 1 << 16), new BitSet(world.houses().size()));
+        }
+    }
+
+    public int survivorCount() {
+        return survivors.length;
+    }
+
+    public VoxelWorld world() {
+        return world;
+    }
+
+    /**
+     * Advances every survivor and player by one server tick and returns how many goals were selected.
+     */
+    public int tick() {
+        ticks++;
+        world.advance();
+        for (SimAgent player : players) {
+            tickPlayer(player);
+        }
+
+        int decisions = 0;
+        for (Survivor survivor : survivors) {
+            SimAgent body = survivor.body;
+            body.tickTimers();
+            move(body);
+
+            long phase = ticks + survivor.phaseOffset;
+            if (phase % PERCEPTION_PERIOD_TICKS == 0) {
+                perceive(survivor);
+            }
+            if (phase % GOAL_PERIOD_TICKS == 0) {
+                Goal goal = survivor.engine.select(survivor.context, false);
+                act(survivor, goal);
+                if (goal != null) {
+                    decisions++;
+                }
+            }
+        }
+        return decisions;
+    }
+
+    private void perceive(Survivor survivor) {
+        SimAgent self = survivor.body;
+        SurvivorMemory memory = survivor.memory;
+        Vec3 eye = self.eyePosition();
+        UUID selfId = self.id();
+        GroupManager groups = GroupManager.instance();
+
+        SimAgent closestThreat = null;
+        double closest = Double.MAX_VALUE;
+        for (AgentView other : world.agentsNear(eye, VIEW_RANGE)) {
+            if (other == self || !world.hasLineOfSight(eye, other.eyePosition())) {
+                continue;
+            }
+            boolean hostile = other instanceof SimAgent agent && agent.isPlayer() || groups.areHostile(selfId, other.id());
+            if (!hostile) {
+                continue;
+            }
+            memory.setLastKnownPosition(other.id(), other.blockPosition());
+            if (other.position().distanceToSqr(Vec3.atCenterOf(memory.homePosition())) < 144.0) {
+                world.markHomeUnderAttack(selfId, 200);
+            }
+            double distance = other.position().distanceToSqr(self.position());
+            if (distance < closest) {
+                closest = distance;
+                closestThreat = (SimAgent) other;
+            }
+        }
+        survivor.threat = closestThreat;
+
+        List<VoxelWorld.House> houses = world.houses();
+        double spotRangeSqr = HOUSE_SPOT_RANGE * HOUSE_SPOT_RANGE;
+        for (int i = 0; i < houses.size(); i++) {
+            VoxelWorld.House house = houses.get(i);
+            Vec3 center = Vec3.atCenterOf(house.center().above());
+            if (center.distanceToSqr(eye) > spotRangeSqr || !world.hasLineOfSight(eye, center)) {
+                continue;
+            }
+            if (!survivor.knownHouses.get(i)) {
+                survivor.knownHouses.set(i);
+                memory.rememberRaidTarget(new RaidTargetKnowledge(house.name(), house.center(), house.chestCount(), 0,
+                    house.chestCount() * 40.0, house.wallHardness() * 25.0, house.wallHardness(), false));
+            }
+            memory.rememberWorldPoint(new WorldKnowledgePoint(house.name(), house.center(), "structure", 0.1f,
+                world.gameTime(), false));
+        }
+
+        if (ticks % 200 == 0) {
+            memory.refreshStaleKnowledge(world.gameTime(), MEMORY_REVALIDATION_SECONDS);
+        }
+    }
+
+    private void act(Survivor survivor, Goal goal) {
+        SimAgent self = survivor.body;
+        if (goal instanceof CombatReactionGoal) {
+            SimAgent target = survivor.threat;
+            if (target == null || !target.isAlive()) {
+                self.setVelocity(Vec3.ZERO);
+                return;
+            }
+            self.lookAt(target.eyePosition());
+            double strafe = ticks % 20 < 10 ? -WALK_SPEED : WALK_SPEED;
+            self.setVelocity(self.lookDirection().yRot((float) (Math.PI / 2.0)).multiply(strafe, 0.0, strafe));
+            if (self.isArmed()) {
+                world.emitSound(self.blockPosition());
+                if (random.nextFloat() < 0.25f && target.hurt(4.0f)) {
+                    kill(target, self);
+                }
+            }
+        } else if (goal instanceof RaidGoal) {
+            RaidTargetKnowledge target = survivor.memory.bestRaidCandidate();
+            if (target == null) {
+                return;
+            }
+            if (self.position().distanceToSqr(Vec3.atCenterOf(target.position())) < 64.0) {
+                breachNear(target.position());
+                world.emitSound(target.position());
+            }
+            steer(self, Vec3.atCenterOf(target.position()));
+        } else if (goal instanceof CampingGoal) {
+            AgentView target = world.nearestPlayer(self.position(), 56.0);
+            if (target != null) {
+                self.lookAt(target.eyePosition());
+                steer(self, target.position());
+            }
+        } else if (goal instanceof LootRecoveryGoal) {
+            BlockPos corpse = world.corpseOf(self.id());
+            if (corpse != null && self.blockPosition().closerThan(corpse, 3.0)) {
+                world.recoverCorpse(self.id());
+            } else if (corpse != null) {
+                steer(self, Vec3.atCenterOf(corpse));
+            }
+        } else if (goal instanceof BaseDefenseGoal) {
+            steer(self, Vec3.atCenterOf(survivor.memory.homePosition()));
+        } else {
+            wander(self);
+        }
+    }
+
+    private void breachNear(BlockPos target) {
+        for (int x = -5; x <= 5; x++) {
+            for (int y = -2; y <= 2; y++) {
+                for (int z = -5; z <= 5; z++) {
+                    BlockPos pos = target.offset(x, y, z);
+                    if (world.isMineable(pos)) {
+                        world.setBlock(pos, VoxelWorld.AIR);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void kill(SimAgent victim, SimAgent killer) {
+        if (!victim.isPlayer()) {
+            world.dropCorpse(victim.id(), victim.blockPosition());
+            GroupManager.instance().reportKill(killer.id(), victim.id());
+        }
+        victim.respawn(randomSurface());
+    }
+
+    private void tickPlayer(SimAgent player) {
+        player.tickTimers();
+        if (ticks % 100 == 0) {
+            List<VoxelWorld.House> houses = world.houses();
+            VoxelWorld.House house = houses.get(random.nextInt(houses.size()));
+            player.setCrouching(random.nextBoolean());
+            player.setVelocity(Vec3.atCenterOf(house.center()).subtract(player.position()).normalize().scale(WALK_SPEED));
+        }
+        move(player);
+    }
+
+    private void wander(SimAgent self) {
+        if (random.nextInt(20) == 0) {
+            double angle = random.nextDouble() * Math.PI * 2.0;
+            self.setVelocity(new Vec3(Math.cos(angle) * WALK_SPEED, 0.0, Math.sin(angle) * WALK_SPEED));
+        }
+    }
+
+    private static void steer(SimAgent self, Vec3 target) {
+        Vec3 delta = target.subtract(self.position());
+        double horizontal = delta.horizontalDistance();
+        if (horizontal < 1.0) {
+            self.setVelocity(Vec3.ZERO);
+            return;
+        }
+        self.setVelocity(new Vec3(delta.x / horizontal * WALK_SPEED, 0.0, delta.z / horizontal * WALK_SPEED));
+    }
+
+    private void move(SimAgent agent) {
+        Vec3 next = agent.position().add(agent.velocity());
+        double x = Math.max(0.5, Math.min(world.sizeX() - 0.5, next.x));
+        double z = Math.max(0.5, Math.min(world.sizeZ() - 0.5, next.z));
+        agent.moveTo(new Vec3(x, world.surfaceY(x, z), z));
+    }
+
+    private Vec3 randomSurface() {
+        double x = 0.5 + random.nextInt(world.sizeX() - 1);
+        double z = 0.5 + random.nextInt(world.sizeZ() - 1);
+        return new Vec3(x, world.surfaceY(x, z), z);
+    }
+
+    /**
+     * Runs {@code ticks} ticks on the calling thread and measures wall time and allocation.
+     */
+    public Result measure(int ticks) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        long begin = System.nanoTime();
+        long decisions = 0;
+        for (int i = 0; i < ticks; i++) {
+            decisions += tick();
+        }
+        long nanos = System.nanoTime() - begin;
+        long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        return new Result(survivors.length, ticks, nanos, bytes, decisions);
+    }
+
+    /**
+     * Usage: {@code HeadlessSimulation [counts=50,200,1000] [ticks=1200] [warmup=400] [seed=42]}.
+     */
+    public static void main(String[] args) {
+        String[] counts = (args.length > 0 ? args[0] : "50,200,1000").split(",");
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 1200;
+        int warmup = args.length > 2 ? Integer.parseInt(args[2]) : 400;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+
+        System.out.println("survivors,ticks,ns_per_survivor_tick,mspt,bytes_per_survivor_tick,alloc_mb_per_s,decisions");
+        for (String count : counts) {
+            HeadlessSimulation simulation = new HeadlessSimulation(seed, Integer.parseInt(count.trim()));
+            simulation.measure(warmup);
+            Result result = simulation.measure(ticks);
+            System.out.println(String.format(Locale.ROOT, "%d,%d,%.1f,%.3f,%.1f,%.1f,%d",
+                result.survivors(),
+                result.ticks(),
+                result.nanosPerSurvivorTick(),
+                result.nanos() / 1_000_000.0 / result.ticks(),
+                result.bytesPerSurvivorTick(),
+                result.allocationMegabytesPerSecond(),
+                result.decisions()));
+        }
+    }
+
+    public record Result(int survivors, int ticks, long nanos, long allocatedBytes, long decisions) {
+        public double nanosPerSurvivorTick() {
+            return (double) nanos / ((long) survivors * ticks);
+        }
+
+        public double bytesPerSurvivorTick() {
+            return (double) allocatedBytes / ((long) survivors * ticks);
+        }
+
+        public double allocationMegabytesPerSecond() {
+            return nanos == 0L ? 0.0 : allocatedBytes / 1_048_576.0 / (nanos / 1.0E9);
+        }
+    }
+
+    private static final class Survivor {
+        private final SimAgent body;
+        private final SurvivorMemory memory;
+        private final BehaviorEngine engine;
+        private final SurvivorContext context;
+        private final int phaseOffset;
+        private final BitSet knownHouses;
+        private SimAgent threat;
+
+        private Survivor(SimAgent body, SurvivorMemory memory, BehaviorEngine engine, SurvivorContext context,
+                         int phaseOffset, BitSet knownHouses) {
+            this.body = body;
+            this.memory = memory;
+            this.engine = engine;
+            this.context = context;
+            this.phaseOffset = phaseOffset;
+            this.knownHouses = knownHouses;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.raimod.sim;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * One {@link HeadlessSimulation} tick across the whole population; divide by {@code survivors} for the per-survivor
+ * cost. Run with the gc profiler to see allocation per tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HeadlessSimulationBenchmark {
+    @Param({"50", "200", "1000"})
+    int survivors;
+
+    private HeadlessSimulation simulation;
+
+    @Setup
+    public void setup() {
+        simulation = new HeadlessSimulation(42L, survivors);
+        for (int i = 0; i < 200; i++) {
+            simulation.tick();
+        }
+    }
+
+    @Benchmark
+    public int tick() {
+        return simulation.tick();
+    }
+}
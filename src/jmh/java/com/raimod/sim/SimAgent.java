@@ -0,0 +1,142 @@
+package com.raimod.sim;
+
+import com.raimod.ai.world.AgentView;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Mutable survivor or player body for {@link HeadlessSimulation}.
+ */
+public final class SimAgent implements AgentView {
+    static final float MAX_HEALTH = 20.0f;
+    private static final double EYE_HEIGHT = 1.62;
+
+    private final UUID id;
+    private final boolean player;
+    private Vec3 position;
+    private Vec3 velocity = Vec3.ZERO;
+    private Vec3 look = new Vec3(0.0, 0.0, 1.0);
+    private float health = MAX_HEALTH;
+    private boolean armed;
+    private boolean crouching;
+    private int hurtTicks;
+
+    SimAgent(UUID id, boolean player, Vec3 position) {
+        this.id = id;
+        this.player = player;
+        this.position = position;
+    }
+
+    @Override
+    public UUID id() {
+        return id;
+    }
+
+    public boolean isPlayer() {
+        return player;
+    }
+
+    @Override
+    public Vec3 position() {
+        return position;
+    }
+
+    @Override
+    public Vec3 eyePosition() {
+        return position.add(0.0, EYE_HEIGHT, 0.0);
+    }
+
+    @Override
+    public Vec3 velocity() {
+        return velocity;
+    }
+
+    @Override
+    public Vec3 lookDirection() {
+        return look;
+    }
+
+    @Override
+    public float health() {
+        return health;
+    }
+
+    @Override
+    public float maxHealth() {
+        return MAX_HEALTH;
+    }
+
+    @Override
+    public boolean isAlive() {
+        return health > 0.0f;
+    }
+
+    @Override
+    public boolean isArmed() {
+        return armed;
+    }
+
+    @Override
+    public boolean isCrouching() {
+        return crouching;
+    }
+
+    @Override
+    public boolean recentlyAttacked() {
+        return hurtTicks > 0;
+    }
+
+    @Override
+    public BlockPos blockPosition() {
+        return BlockPos.containing(position);
+    }
+
+    void setArmed(boolean armed) {
+        this.armed = armed;
+    }
+
+    void setCrouching(boolean crouching) {
+        this.crouching = crouching;
+    }
+
+    void setVelocity(Vec3 velocity) {
+        this.velocity = velocity;
+        if (velocity.horizontalDistanceSqr() > 1.0E-4) {
+            this.look = velocity.normalize();
+        }
+    }
+
+    void lookAt(Vec3 target) {
+        Vec3 direction = target.subtract(eyePosition());
+        if (direction.lengthSqr() > 1.0E-4) {
+            this.look = direction.normalize();
+        }
+    }
+
+    void moveTo(Vec3 position) {
+        this.position = position;
+    }
+
+    /**
+     * Applies damage and returns true if it was lethal.
+     */
+    boolean hurt(float amount) {
+        health -= amount;
+        hurtTicks = 100;
+        return health <= 0.0f;
+    }
+
+    void respawn(Vec3 at) {
+        position = at;
+        velocity = Vec3.ZERO;
+        health = MAX_HEALTH;
+        hurtTicks = 0;
+    }
+
+    void tickTimers() {
+        if (hurtTicks > 0) {
+            hurtTicks--;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.raimod.sim;
+
+import com.raimod.ai.world.AgentView;
+import com.raimod.ai.world.WorldView;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Seeded block grid standing in for a server level: rolling terrain dotted with walled houses that have glass windows,
+ * a doorway and a roof, so line of sight, indoor checks and breach searches have realistic geometry to work on.
+ */
+public final class VoxelWorld implements WorldView {
+    static final byte AIR = 0;
+    static final byte STONE = 1;
+    static final byte PLANKS = 2;
+    static final byte GLASS = 3;
+
+    private static final int SOUND_TTL_TICKS = 100;
+    private static final int MAX_LOS_STEPS = 512;
+
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    private final byte[] blocks;
+    private final int[] surface;
+    private final List<House> houses = new ArrayList<>();
+    private final List<SimAgent> agents = new ArrayList<>();
+    private final List<SimAgent> players = new ArrayList<>();
+    private final Deque<Sound> sounds = new ArrayDeque<>();
+    private final Map<UUID, Long> homeAttackUntil = new HashMap<>();
+    private final Map<UUID, BlockPos> corpses = new HashMap<>();
+    private long gameTime;
+
+    public VoxelWorld(long seed, int sizeX, int sizeY, int sizeZ) {
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.blocks = new byte[sizeX * sizeY * sizeZ];
+        this.surface = new int[sizeX * sizeZ];
+
+        Random random = new Random(seed);
+        generateTerrain(random);
+        int houseCount = Math.max(4, sizeX * sizeZ / 1600);
+        for (int i = 0; i < houseCount; i++) {
+            placeHouse(random, i);
+        }
+    }
+
+    public int sizeX() {
+        return sizeX;
+    }
+
+    public int sizeZ() {
+        return sizeZ;
+    }
+
+    public List<House> houses() {
+        return Collections.unmodifiableList(houses);
+    }
+
+    void addAgent(SimAgent agent) {
+        agents.add(agent);
+        if (agent.isPlayer()) {
+            players.add(agent);
+        }
+    }
+
+    void advance() {
+        gameTime++;
+        while (!sounds.isEmpty() && gameTime - sounds.peekFirst().tick() > SOUND_TTL_TICKS) {
+            sounds.removeFirst();
+        }
+    }
+
+    void emitSound(BlockPos pos) {
+        sounds.addLast(new Sound(pos, gameTime));
+    }
+
+    void markHomeUnderAttack(UUID survivorId, int ticks) {
+        homeAttackUntil.put(survivorId, gameTime + ticks);
+    }
+
+    void dropCorpse(UUID survivorId, BlockPos pos) {
+        corpses.put(survivorId, pos);
+    }
+
+    BlockPos corpseOf(UUID survivorId) {
+        return corpses.get(survivorId);
+    }
+
+    void recoverCorpse(UUID survivorId) {
+        corpses.remove(survivorId);
+    }
+
+    /**
+     * Standing height at a column, clamped into the grid.
+     */
+    int surfaceY(double x, double z) {
+        int cx = Mth.clamp(Mth.floor(x), 0, sizeX - 1);
+        int cz = Mth.clamp(Mth.floor(z), 0, sizeZ - 1);
+        return surface[cx * sizeZ + cz];
+    }
+
+    void setBlock(BlockPos pos, byte block) {
+        if (inBounds(pos.getX(), pos.getY(), pos.getZ())) {
+            blocks[index(pos.getX(), pos.getY(), pos.getZ())] = block;
+        }
+    }
+
+    @Override
+    public long gameTime() {
+        return gameTime;
+    }
+
+    @Override
+    public boolean isAir(BlockPos pos) {
+        return block(pos.getX(), pos.getY(), pos.getZ()) == AIR;
+    }
+
+    @Override
+    public boolean isOpaque(BlockPos pos) {
+        return opaque(block(pos.getX(), pos.getY(), pos.getZ()));
+    }
+
+    @Override
+    public boolean isSolid(BlockPos pos) {
+        return block(pos.getX(), pos.getY(), pos.getZ()) != AIR;
+    }
+
+    @Override
+    public boolean isMineable(BlockPos pos) {
+        return block(pos.getX(), pos.getY(), pos.getZ()) == STONE;
+    }
+
+    /**
+     * Amanatides-Woo voxel traversal from {@code from} to {@code to}; any opaque cell on the way blocks sight.
+     */
+    @Override
+    public boolean hasLineOfSight(Vec3 from, Vec3 to) {
+        int x = Mth.floor(from.x);
+        int y = Mth.floor(from.y);
+        int z = Mth.floor(from.z);
+        int endX = Mth.floor(to.x);
+        int endY = Mth.floor(to.y);
+        int endZ = Mth.floor(to.z);
+        double dx = to.x - from.x;
+        double dy = to.y - from.y;
+        double dz = to.z - from.z;
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        int stepZ = dz > 0 ? 1 : -1;
+        double deltaX = dx == 0 ? Double.POSITIVE_INFINITY : 1.0 / Math.abs(dx);
+        double deltaY = dy == 0 ? Double.POSITIVE_INFINITY : 1.0 / Math.abs(dy);
+        double deltaZ = dz == 0 ? Double.POSITIVE_INFINITY : 1.0 / Math.abs(dz);
+        double maxX = deltaX * (stepX > 0 ? x + 1 - from.x : from.x - x);
+        double maxY = deltaY * (stepY > 0 ? y + 1 - from.y : from.y - y);
+        double maxZ = deltaZ * (stepZ > 0 ? z + 1 - from.z : from.z - z);
+
+        for (int step = 0; step < MAX_LOS_STEPS; step++) {
+            if (x == endX && y == endY && z == endZ) {
+                return true;
+            }
+            if (maxX < maxY && maxX < maxZ) {
+                if (maxX > 1.0) {
+                    return true;
+                }
+                x += stepX;
+                maxX += deltaX;
+            } else if (maxY < maxZ) {
+                if (maxY > 1.0) {
+                    return true;
+                }
+                y += stepY;
+                maxY += deltaY;
+            } else {
+                if (maxZ > 1.0) {
+                    return true;
+                }
+                z += stepZ;
+                maxZ += deltaZ;
+            }
+            if (opaque(block(x, y, z))) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public AgentView nearestPlayer(Vec3 pos, double range) {
+        SimAgent nearest = null;
+        double best = range * range;
+        for (SimAgent player : players) {
+            double distance = player.position().distanceToSqr(pos);
+            if (player.isAlive() && distance <= best) {
+                best = distance;
+                nearest = player;
+            }
+        }
+        return nearest;
+    }
+
+    @Override
+    public List<AgentView> agentsNear(Vec3 pos, double range) {
+        double rangeSqr = range * range;
+        List<AgentView> near = new ArrayList<>();
+        for (SimAgent agent : agents) {
+            if (agent.isAlive() && agent.position().distanceToSqr(pos) <= rangeSqr) {
+                near.add(agent);
+            }
+        }
+        return near;
+    }
+
+    @Override
+    public boolean loudSoundNear(BlockPos pos, int radius) {
+        long radiusSqr = (long) radius * radius;
+        for (Sound sound : sounds) {
+            if (sound.pos().distSqr(pos) <= radiusSqr) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean homeUnderAttack(UUID survivorId) {
+        Long until = homeAttackUntil.get(survivorId);
+        return until != null && until >= gameTime;
+    }
+
+    @Override
+    public boolean hasUnrecoveredCorpse(UUID survivorId) {
+        return corpses.containsKey(survivorId);
+    }
+
+    private void generateTerrain(Random random) {
+        double phaseA = random.nextDouble() * Math.PI * 2.0;
+        double phaseB = random.nextDouble() * Math.PI * 2.0;
+        double phaseC = random.nextDouble() * Math.PI * 2.0;
+        int base = sizeY / 3;
+        for (int x = 0; x < sizeX; x++) {
+            for (int z = 0; z < sizeZ; z++) {
+                double height = base
+                    + 4.0 * Math.sin(x * 0.045 + phaseA)
+                    + 3.0 * Math.sin(z * 0.06 + phaseB)
+                    + 2.0 * Math.sin((x + z) * 0.11 + phaseC);
+                int top = Mth.clamp((int) height, 1, sizeY - 12);
+                for (int y = 0; y < top; y++) {
+                    blocks[index(x, y, z)] = STONE;
+                }
+                surface[x * sizeZ + z] = top;
+            }
+        }
+    }
+
+    private void placeHouse(Random random, int ordinal) {
+        int width = 7 + random.nextInt(5);
+        int depth = 7 + random.nextInt(5);
+        int height = 4;
+        int minX = 2 + random.nextInt(Math.max(1, sizeX - width - 4));
+        int minZ = 2 + random.nextInt(Math.max(1, sizeZ - depth - 4));
+        int floor = surface[(minX + width / 2) * sizeZ + minZ + depth / 2];
+        byte wall = random.nextBoolean() ? STONE : PLANKS;
+
+        for (int x = minX; x < minX + width; x++) {
+            for (int z = minZ; z < minZ + depth; z++) {
+                boolean edge = x == minX || z == minZ || x == minX + width - 1 || z == minZ + depth - 1;
+                for (int y = floor - 1; y <= floor + height; y++) {
+                    byte block;
+                    if (y == floor - 1 || y == floor + height) {
+                        block = y == floor - 1 ? STONE : PLANKS;
+                    } else if (edge) {
+                        boolean window = y == floor + 1 && (x + z) % 3 == 0;
+                        block = window ? GLASS : wall;
+                    } else {
+                        block = AIR;
+                    }
+                    blocks[index(x, y, z)] = block;
+                }
+                surface[x * sizeZ + z] = floor;
+            }
+        }
+
+        int doorX = minX + width / 2;
+        blocks[index(doorX, floor, minZ)] = AIR;
+        blocks[index(doorX, floor + 1, minZ)] = AIR;
+
+        BlockPos center = new BlockPos(minX + width / 2, floor, minZ + depth / 2);
+        houses.add(new House("house_" + ordinal, center, 1 + random.nextInt(6), wall == STONE ? 3 : 1));
+    }
+
+    private byte block(int x, int y, int z) {
+        if (y < 0) {
+            return STONE;
+        }
+        if (!inBounds(x, y, z)) {
+            return AIR;
+        }
+        return blocks[index(x, y, z)];
+    }
+
+    private boolean inBounds(int x, int y, int z) {
+        return x >= 0 && y >= 0 && z >= 0 && x < sizeX && y < sizeY && z < sizeZ;
+    }
+
+    private int index(int x, int y, int z) {
+        return (x * sizeZ + z) * sizeY + y;
+    }
+
+    private static boolean opaque(byte block) {
+        return block == STONE || block == PLANKS;
+    }
+
+    public record House(String name, BlockPos center, int chestCount, int wallHardness) {
+    }
+
+    private record Sound(BlockPos pos, long tick) {
+    }
+}
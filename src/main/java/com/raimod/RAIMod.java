@@ -1,12 +1,19 @@
 package com.raimod;
 
 import com.raimod.ai.AIDirectorService;
+import com.raimod.ai.memory.HomeSecurityIndex;
+import com.raimod.ai.world.BlockChangeEvents;
+import com.raimod.command.RAICommands;
 import com.raimod.config.RAIServerConfig;
+import com.raimod.integration.MineIndex;
 import net.neoforged.bus.api.IEventBus;
 import net.neoforged.fml.ModContainer;
+import net.neoforged.fml.ModList;
 import net.neoforged.fml.common.Mod;
 import net.neoforged.fml.config.ModConfig;
 import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.RegisterCommandsEvent;
+import net.neoforged.neoforge.event.server.ServerStoppingEvent;
 import net.neoforged.neoforge.event.tick.ServerTickEvent;
 
 @Mod(RAIMod.MOD_ID)
@@ -20,10 +27,25 @@ public final class RAIMod {
 
         this.aiDirectorService = new AIDirectorService();
         modEventBus.addListener(aiDirectorService::onConfigReloaded);
+        BlockChangeEvents.instance().register(NeoForge.EVENT_BUS);
+        HomeSecurityIndex.instance().register(NeoForge.EVENT_BUS);
+        if (ModList.get().isLoaded("securitycraft")) {
+            MineIndex.instance().register(NeoForge.EVENT_BUS);
+        }
         NeoForge.EVENT_BUS.addListener(this::onServerTick);
+        NeoForge.EVENT_BUS.addListener(this::onServerStopping);
+        NeoForge.EVENT_BUS.addListener(this::onRegisterCommands);
     }
 
     private void onServerTick(ServerTickEvent.Post event) {
         aiDirectorService.tick(event.getServer());
     }
+
+    private void onServerStopping(ServerStoppingEvent event) {
+        aiDirectorService.shutdown(event.getServer());
+    }
+
+    private void onRegisterCommands(RegisterCommandsEvent event) {
+        RAICommands.register(event.getDispatcher());
+    }
 }
@@ -1,47 +1,116 @@
 package com.raimod.ai;
 
 import com.raimod.RAIMod;
+import com.raimod.ai.memory.BreachPlanner;
+import com.raimod.ai.memory.HomeSecurityIndex;
+import com.raimod.ai.memory.SurvivorMemory;
+import com.raimod.ai.offworld.OffWorldSimulator;
+import com.raimod.ai.offworld.OffWorldSurvivor;
+import com.raimod.ai.perf.PerfProfiler;
+import com.raimod.ai.raycast.RaycastEngine;
+import com.raimod.ai.spatial.SpatialIndex;
+import com.raimod.ai.world.CoverGraph;
 import com.raimod.config.RAIServerConfig;
+import com.raimod.config.RuntimeConfigHolder;
 import com.raimod.entity.SimulatedSurvivor;
+import com.raimod.integration.MineIndex;
 import com.raimod.integration.ModIntegrationRegistry;
 import com.raimod.persistence.SurvivorPersistence;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
+import net.minecraft.core.BlockPos;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.levelgen.Heightmap;
 import net.neoforged.fml.event.config.ModConfigEvent;
+import net.neoforged.neoforge.common.util.FakePlayer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public final class AIDirectorService {
     private static final Logger LOGGER = LoggerFactory.getLogger(AIDirectorService.class);
+    private static final int LOD_REPORT_INTERVAL_TICKS = 1200;
+    private static final long SHUTDOWN_FLUSH_TIMEOUT_MS = 5000L;
+    private static final int RESTORE_RETRY_INTERVAL_TICKS = 1200;
+    /**
+     * Caps FakePlayer construction per tick so a freshly restored population enters the world gradually.
+     */
+    private static final int MAX_MATERIALIZATIONS_PER_TICK = 4;
 
     private final SurvivorPersistence persistence;
     private final ModIntegrationRegistry integrationRegistry;
+    private final SurvivorScheduler scheduler;
+    private final OffWorldSimulator offWorld;
     private RAIServerConfig.RuntimeValues config;
+    private volatile RAIServerConfig.RuntimeValues pendingConfig;
     private boolean initialized;
     private int saveTimer;
+    private int lodReportTimer;
+    private int restoreRetryTimer;
 
     public AIDirectorService() {
         this.persistence = new SurvivorPersistence();
         this.integrationRegistry = new ModIntegrationRegistry();
+        this.scheduler = new SurvivorScheduler();
+        this.offWorld = new OffWorldSimulator();
         this.config = RAIServerConfig.runtime();
+        RuntimeConfigHolder.instance().publish(config);
     }
 
     public void tick(MinecraftServer server) {
-        if (!initialized) {
+        long tickStarted = System.nanoTime();
+        boolean firstTick = !initialized;
+        RAIServerConfig.RuntimeValues reloaded = pendingConfig;
+        if (reloaded != null) {
+            pendingConfig = null;
+            if (firstTick) {
+                config = reloaded;
+                RuntimeConfigHolder.instance().publish(config);
+            }
+        }
+        if (firstTick) {
             initialize(server);
             initialized = true;
         }
 
         integrationRegistry.tick(server);
+        PerfProfiler.instance().tick();
+        RaycastEngine.instance().drain();
+
+        ServerLevel level = server.overworld();
+        List<ServerPlayer> players = realPlayers(server, level);
+        if (reloaded != null && !firstTick) {
+            applyConfig(level, players, reloaded);
+        }
+        updateMaterialization(level, players);
 
-        List<SimulatedSurvivor> all = persistence.activeSurvivors(server.overworld());
-        all.forEach(bot -> bot.configureRuntime(integrationRegistry, config));
-        all.forEach(SimulatedSurvivor::tick);
+        List<SimulatedSurvivor> all = persistence.activeSurvivors(level);
+        SpatialIndex.instance().rebuild(all, players);
+        assignLod(all);
+        scheduler.tick(all, config);
+        if (scheduler.deferredLastTick() > 0) {
+            LOGGER.debug("AI tick budget of {}ms exhausted, {} survivors deferred to next tick",
+                config.tickBudgetMs(), scheduler.deferredLastTick());
+        }
+        offWorld.tick(level.getGameTime());
+
+        if (persistence.isAvailable()) {
+            int known = persistence.knownSurvivorCount();
+            if (known < config.maxPlayers()) {
+                spawnMissingSurvivors(server, config.maxPlayers() - known);
+            }
+        } else if (++restoreRetryTimer >= RESTORE_RETRY_INTERVAL_TICKS) {
+            restoreSurvivors(level);
+            restoreRetryTimer = 0;
+        }
 
-        if (all.size() < config.maxPlayers()) {
-            spawnMissingSurvivors(server, config.maxPlayers() - all.size());
+        lodReportTimer++;
+        if (lodReportTimer >= LOD_REPORT_INTERVAL_TICKS) {
+            reportLodCost();
+            lodReportTimer = 0;
         }
 
         saveTimer++;
@@ -49,41 +118,249 @@ public final class AIDirectorService {
             persistence.saveAll(server.overworld());
             saveTimer = 0;
         }
+
+        if (firstTick) {
+            LOGGER.info("First AI tick after startup took {} ms", (System.nanoTime() - tickStarted) / 1_000_000L);
+        }
     }
 
+    public void shutdown(MinecraftServer server) {
+        if (!initialized) {
+            return;
+        }
+        persistence.close(server.overworld(), SHUTDOWN_FLUSH_TIMEOUT_MS);
+        SpatialIndex.instance().clear();
+        RaycastEngine.instance().clear();
+        MineIndex.instance().clear();
+        HomeSecurityIndex.instance().clear();
+        CoverGraph.instance().clear();
+        BreachPlanner.instance().clear();
+        initialized = false;
+    }
+
+    /**
+     * Config reloads can arrive off the server thread, so the new values are handed over and applied on the next tick.
+     */
     public void onConfigReloaded(ModConfigEvent.Reloading event) {
         if (!event.getConfig().getModId().equals(RAIMod.MOD_ID)) {
             return;
         }
 
-        RAIServerConfig.RuntimeValues newConfig = RAIServerConfig.runtime();
-        LOGGER.info("RAI config reloaded, restarting AI runtime. New maxPlayers={}, chunks={}..{}",
-            newConfig.maxPlayers(),
-            newConfig.minActiveChunks(),
-            newConfig.maxActiveChunks());
+        pendingConfig = RAIServerConfig.runtime();
+        LOGGER.info("RAI config reloaded, applying on next server tick");
+    }
+
+    /**
+     * Applies only what changed between the current and reloaded values. Live survivors keep their state; chunk
+     * budgets are reset when their bounds moved. When the population cap is lowered the surplus is retired, off-world
+     * survivors and those farthest from players first; when the materialization cap is lowered the surplus in-world
+     * survivors are moved off-world rather than discarded. Growth is handled by the regular materialization and spawn
+     * passes.
+     */
+    private void applyConfig(ServerLevel level, List<ServerPlayer> players, RAIServerConfig.RuntimeValues next) {
+        RAIServerConfig.RuntimeValues previous = config;
+        config = next;
+        if (next.equals(previous)) {
+            return;
+        }
+        LOGGER.info("Applying reloaded RAI config");
+        RuntimeConfigHolder.instance().publish(next);
+
+        if (next.minActiveChunks() != previous.minActiveChunks() || next.maxActiveChunks() != previous.maxActiveChunks()) {
+            persistence.activeSurvivors(level).forEach(survivor -> survivor.resetRuntime(next));
+        }
+
+        int known = persistence.knownSurvivorCount();
+        if (next.maxPlayers() < previous.maxPlayers() && known > next.maxPlayers()) {
+            retireSurplus(level, players, known - next.maxPlayers());
+            LOGGER.info("Retired {} survivors to fit the new population cap of {}", known - next.maxPlayers(),
+                next.maxPlayers());
+        }
+
+        List<SimulatedSurvivor> active = persistence.activeSurvivors(level);
+        int cap = materializedCap();
+        if (active.size() > cap) {
+            active.sort(Comparator.comparingDouble(bot -> nearestPlayerDistSqr(players, bot.getX(), bot.getY(), bot.getZ())));
+            for (int i = active.size() - 1; i >= cap; i--) {
+                dematerialize(active.get(i));
+            }
+            LOGGER.info("Moved {} survivors off-world to fit the new materialization cap of {}", active.size() - cap, cap);
+        }
+    }
+
+    /**
+     * Permanently removes {@code count} survivors, preferring off-world ones and then those farthest from any player.
+     */
+    private void retireSurplus(ServerLevel level, List<ServerPlayer> players, int count) {
+        List<OffWorldSurvivor> offWorldSurvivors = new ArrayList<>(offWorld.survivors());
+        offWorldSurvivors.sort(Comparator.comparingDouble(
+            (OffWorldSurvivor bot) -> nearestPlayerDistSqr(players, bot.x(), bot.y(), bot.z())).reversed());
+        int remaining = count;
+        for (OffWorldSurvivor survivor : offWorldSurvivors) {
+            if (remaining <= 0) {
+                return;
+            }
+            offWorld.remove(survivor.id());
+            persistence.retire(survivor.id());
+            GroupManager.instance().removeMember(survivor.id());
+            remaining--;
+        }
+
+        List<SimulatedSurvivor> active = persistence.activeSurvivors(level);
+        active.sort(Comparator.comparingDouble(
+            (SimulatedSurvivor bot) -> nearestPlayerDistSqr(players, bot.getX(), bot.getY(), bot.getZ())).reversed());
+        for (int i = 0; i < active.size() && remaining > 0; i++, remaining--) {
+            SimulatedSurvivor survivor = active.get(i);
+            survivor.releaseRuntime();
+            scheduler.forget(survivor.id());
+            persistence.retire(survivor.id());
+            GroupManager.instance().removeMember(survivor.id());
+        }
+    }
+
+    private List<ServerPlayer> realPlayers(MinecraftServer server, ServerLevel level) {
+        List<ServerPlayer> players = new ArrayList<>();
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            if (!(player instanceof FakePlayer) && player.level() == level) {
+                players.add(player);
+            }
+        }
+        return players;
+    }
+
+    private double nearestPlayerDistSqr(List<ServerPlayer> players, double x, double y, double z) {
+        double nearest = Double.MAX_VALUE;
+        for (ServerPlayer player : players) {
+            nearest = Math.min(nearest, player.distanceToSqr(x, y, z));
+        }
+        return nearest;
+    }
 
-        this.config = newConfig;
-        this.initialized = false;
+    private void assignLod(List<SimulatedSurvivor> survivors) {
+        SpatialIndex index = SpatialIndex.instance();
+        double reach = config.reducedDetailRadius();
+        for (SimulatedSurvivor survivor : survivors) {
+            double nearest = index.nearestDistanceSqr(survivor.getX(), survivor.getY(), survivor.getZ(), reach,
+                SpatialIndex.PLAYERS);
+            survivor.setLod(SurvivorLod.forDistanceSqr(nearest, config));
+        }
+    }
+
+    private void updateMaterialization(ServerLevel level, List<ServerPlayer> players) {
+        List<SimulatedSurvivor> active = persistence.activeSurvivors(level);
+        double leaveDistance = config.offWorldRadius();
+        double enterDistance = leaveDistance * 0.8;
+        int cap = materializedCap();
+
+        if (config.offWorldSimulation()) {
+            active.sort(Comparator.comparingDouble(bot -> nearestPlayerDistSqr(players, bot.getX(), bot.getY(), bot.getZ())));
+            for (int i = active.size() - 1; i >= 0; i--) {
+                SimulatedSurvivor survivor = active.get(i);
+                double distSqr = nearestPlayerDistSqr(players, survivor.getX(), survivor.getY(), survivor.getZ());
+                if (distSqr > leaveDistance * leaveDistance || i >= cap) {
+                    dematerialize(survivor);
+                    active.remove(i);
+                }
+            }
+        }
+
+        int materialized = active.size();
+        int budget = MAX_MATERIALIZATIONS_PER_TICK;
+        for (OffWorldSurvivor candidate : new ArrayList<>(offWorld.survivors())) {
+            if (materialized >= cap || budget <= 0) {
+                break;
+            }
+            if (config.offWorldSimulation()) {
+                double distSqr = nearestPlayerDistSqr(players, candidate.x(), candidate.y(), candidate.z());
+                if (distSqr > enterDistance * enterDistance || !level.hasChunkAt(candidate.blockPosition())) {
+                    continue;
+                }
+            }
+            materialize(level, candidate);
+            materialized++;
+            budget--;
+        }
+    }
+
+    private int materializedCap() {
+        return Math.min(config.maxPlayers(), config.maxMaterializedPlayers());
+    }
+
+    private void dematerialize(SimulatedSurvivor survivor) {
+        survivor.releaseRuntime();
+        persistence.detach(survivor.id());
+        scheduler.forget(survivor.id());
+        offWorld.add(OffWorldSurvivor.capture(survivor));
+    }
+
+    private void materialize(ServerLevel level, OffWorldSurvivor abstractSurvivor) {
+        offWorld.remove(abstractSurvivor.id());
+        SimulatedSurvivor body = abstractSurvivor.body() != null
+            ? abstractSurvivor.body()
+            : SimulatedSurvivor.bootstrap(abstractSurvivor.id(), config, level, abstractSurvivor.memory());
+
+        BlockPos pos = abstractSurvivor.blockPosition();
+        double y = level.hasChunkAt(pos)
+            ? level.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, pos.getX(), pos.getZ())
+            : abstractSurvivor.y();
+        body.teleportTo(abstractSurvivor.x(), y, abstractSurvivor.z());
+        abstractSurvivor.settle(body);
+
+        body.configureRuntime(integrationRegistry);
+        body.resetRuntime(config);
+        persistence.attach(body);
+    }
+
+    private void reportLodCost() {
+        LOGGER.info("Survivor population: {} in-world, {} off-world",
+            persistence.activeCount(), offWorld.size());
+        for (SurvivorScheduler.TierCost cost : scheduler.drainTierCosts()) {
+            if (cost.survivorTicks() == 0) {
+                continue;
+            }
+            LOGGER.info("LOD {}: {} survivor-ticks, {} ms total, {} us/survivor-tick",
+                cost.tier(),
+                cost.survivorTicks(),
+                String.format("%.1f", cost.nanos() / 1_000_000.0),
+                String.format("%.1f", cost.averageMicros()));
+        }
     }
 
     private void initialize(MinecraftServer server) {
         integrationRegistry.bootstrap(server);
+        offWorld.clear();
+        restoreSurvivors(server.overworld());
+    }
 
-        List<SimulatedSurvivor> restored = persistence.restore(server.overworld(), config);
-        LOGGER.info("Restored {} simulated survivors from persistent storage", restored.size());
-
-        restored.forEach(bot -> {
-            bot.configureRuntime(integrationRegistry, config);
-            bot.resetRuntime(config);
-        });
+    private void restoreSurvivors(ServerLevel level) {
+        long started = System.nanoTime();
+        List<SurvivorMemory> restored = persistence.restore(level);
+        BlockPos spawn = level.getSharedSpawnPos();
+        for (SurvivorMemory memory : restored) {
+            // Off-world fights and kill reports resolve hostility through squads, so membership cannot wait for the
+            // survivor to materialize.
+            GroupManager.instance().registerMember(memory.survivorId());
+            BlockPos home = memory.homePosition();
+            offWorld.add(OffWorldSurvivor.fromMemory(memory, BlockPos.ZERO.equals(home) ? spawn : home));
+        }
+        LOGGER.info("Restored {} simulated survivors from persistent storage in {} ms",
+            restored.size(), (System.nanoTime() - started) / 1_000_000L);
+        if (restored.size() > config.maxPlayers()) {
+            retireSurplus(level, List.of(), restored.size() - config.maxPlayers());
+            LOGGER.info("Retired {} restored survivors above the population cap of {}",
+                restored.size() - config.maxPlayers(), config.maxPlayers());
+        }
     }
 
     private void spawnMissingSurvivors(MinecraftServer server, int missing) {
         List<SimulatedSurvivor> spawned = new ArrayList<>();
         for (int i = 0; i < missing; i++) {
             SimulatedSurvivor survivor = SimulatedSurvivor.bootstrap(UUID.randomUUID(), config, server.overworld());
-            survivor.configureRuntime(integrationRegistry, config);
+            survivor.configureRuntime(integrationRegistry);
             persistence.store(server.overworld(), survivor);
+            if (persistence.activeCount() > materializedCap()) {
+                dematerialize(survivor);
+            }
             spawned.add(survivor);
         }
 
@@ -1,6 +1,7 @@
 package com.raimod.ai;
 
 import com.raimod.config.RAIServerConfig;
+import com.raimod.config.RuntimeConfigHolder;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.UUID;
@@ -46,6 +47,7 @@ public final class FactionRegistry {
         tradeGain = 0.08;
         killLoss = 0.15;
         refreshDynamicRelation();
+        RuntimeConfigHolder.instance().subscribe(this::configure);
     }
 
     public void configure(RAIServerConfig.RuntimeValues runtime) {
@@ -1,13 +1,17 @@
 package com.raimod.ai;
 
+import com.raimod.ai.spatial.SpatialIndex;
 import com.raimod.config.RAIServerConfig;
+import com.raimod.config.RuntimeConfigHolder;
 import com.raimod.entity.SimulatedSurvivor;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import net.minecraft.core.BlockPos;
 
@@ -19,19 +23,33 @@ public final class GroupManager {
 
     private final Map<UUID, UUID> squadByMember = new HashMap<>();
     private final Map<UUID, Squad> squads = new HashMap<>();
+    /**
+     * Squads with room for another member under the current capacity, in creation order.
+     */
+    private final Set<UUID> openSquads = new LinkedHashSet<>();
     private final FactionRegistry factions = new FactionRegistry();
-    private RAIServerConfig.RuntimeValues runtime;
+    private int squadCapacity = 4;
 
     private GroupManager() {
+        RuntimeConfigHolder.instance().subscribe(this::configure);
     }
 
     public static GroupManager instance() {
         return INSTANCE;
     }
 
-    public void configure(RAIServerConfig.RuntimeValues runtime) {
-        this.runtime = runtime;
-        this.factions.configure(runtime);
+    private void configure(RAIServerConfig.RuntimeValues runtime) {
+        int capacity = Math.max(2, Math.min(4, runtime.squadMaxSize()));
+        if (capacity == squadCapacity) {
+            return;
+        }
+        squadCapacity = capacity;
+        openSquads.clear();
+        for (Squad squad : squads.values()) {
+            if (squad.members().size() < capacity) {
+                openSquads.add(squad.id());
+            }
+        }
     }
 
     public Squad squadOf(UUID survivorId) {
@@ -46,33 +64,61 @@ public final class GroupManager {
         return squadByMember.get(survivorId);
     }
 
-    public Squad registerSurvivor(SimulatedSurvivor survivor, int maxSize) {
-        UUID id = survivor.id();
+    /**
+     * Places a survivor in the first squad with room, creating one if none is open. Called once per survivor when it
+     * enters the world; repeated calls return the existing squad.
+     */
+    public Squad registerSurvivor(SimulatedSurvivor survivor) {
+        return registerMember(survivor.id());
+    }
+
+    /**
+     * {@link #registerSurvivor} by id, for callers without a live entity.
+     */
+    public Squad registerMember(UUID id) {
         Squad existing = squadOf(id);
         if (existing != null) {
             return existing;
         }
 
-        int configMax = runtime != null ? runtime.squadMaxSize() : 4;
-        int cappedSize = Math.max(2, Math.min(4, Math.min(maxSize, configMax)));
-        Squad target = squads.values().stream()
-            .filter(s -> s.members().size() < cappedSize)
-            .findFirst()
-            .orElseGet(() -> {
-                Squad created = new Squad(UUID.randomUUID(), new ArrayList<>(), null, null, null, false);
-                squads.put(created.id(), created);
-                factions.assignSquad(created.id());
-                return created;
-            });
+        Squad target = openSquads.isEmpty() ? null : squads.get(openSquads.iterator().next());
+        if (target == null) {
+            target = new Squad(UUID.randomUUID(), new ArrayList<>(), null, null, null, false);
+            squads.put(target.id(), target);
+            factions.assignSquad(target.id());
+            openSquads.add(target.id());
+        }
 
         target.members().add(id);
         squadByMember.put(id, target.id());
         if (target.members().size() == 1) {
             target.pointManId = id;
         }
+        if (target.members().size() >= squadCapacity) {
+            openSquads.remove(target.id());
+        }
         return target;
     }
 
+    /**
+     * Takes a survivor out of its squad for good, e.g. when it is retired from the population. The point man role
+     * passes to the next member and the squad accepts recruits again once it is below capacity.
+     */
+    public void removeMember(UUID id) {
+        UUID squadId = squadByMember.remove(id);
+        Squad squad = squadId == null ? null : squads.get(squadId);
+        if (squad == null) {
+            return;
+        }
+        squad.members().remove(id);
+        if (id.equals(squad.pointManId)) {
+            squad.pointManId = squad.members().isEmpty() ? null : squad.members().get(0);
+        }
+        if (squad.members().size() < squadCapacity) {
+            openSquads.add(squadId);
+        }
+    }
+
     public void reportTargetSpotted(SimulatedSurvivor reporter, UUID targetId, BlockPos lkp) {
         Squad squad = squadOf(reporter.id());
         if (squad == null || targetId == null || lkp == null) {
@@ -119,8 +165,8 @@ public final class GroupManager {
             if (memberId.equals(survivor.id())) {
                 continue;
             }
-            var entity = survivor.serverLevel().getEntity(memberId);
-            if (entity instanceof SimulatedSurvivor teammate && teammate.isAlive()) {
+            SimulatedSurvivor teammate = SpatialIndex.instance().survivor(memberId);
+            if (teammate != null && teammate.isAlive()) {
                 members.add(teammate);
             }
         }
@@ -152,8 +198,12 @@ public final class GroupManager {
     }
 
     public boolean areHostile(SimulatedSurvivor a, SimulatedSurvivor b) {
-        UUID squadA = squadIdOf(a.id());
-        UUID squadB = squadIdOf(b.id());
+        return areHostile(a.id(), b.id());
+    }
+
+    public boolean areHostile(UUID a, UUID b) {
+        UUID squadA = squadIdOf(a);
+        UUID squadB = squadIdOf(b);
         if (squadA == null || squadB == null) {
             return false;
         }
@@ -170,14 +220,27 @@ public final class GroupManager {
     }
 
     public void reportKill(SimulatedSurvivor killer, SimulatedSurvivor victim) {
-        UUID squadA = squadIdOf(killer.id());
-        UUID squadB = squadIdOf(victim.id());
+        reportKill(killer.id(), victim.id());
+    }
+
+    public void reportKill(UUID killer, UUID victim) {
+        UUID squadA = squadIdOf(killer);
+        UUID squadB = squadIdOf(victim);
         if (squadA == null || squadB == null || Objects.equals(squadA, squadB)) {
             return;
         }
         factions.recordKill(squadA, squadB);
     }
 
+    /**
+     * Drops every squad and membership. Used by headless runs that reuse the singleton between scenarios.
+     */
+    public void clear() {
+        squadByMember.clear();
+        squads.clear();
+        openSquads.clear();
+    }
+
     public void cleanup() {
         List<UUID> emptySquads = squads.values().stream()
             .filter(squad -> squad.members().isEmpty())
@@ -185,6 +248,7 @@ public final class GroupManager {
             .toList();
         for (UUID empty : emptySquads) {
             squads.remove(empty);
+            openSquads.remove(empty);
         }
     }
 
@@ -0,0 +1,49 @@
+package com.raimod.ai;
+
+import com.raimod.config.RAIServerConfig;
+
+/**
+ * Simulation fidelity tier derived from the distance to the nearest real player.
+ */
+public enum SurvivorLod {
+    /** Everything, including cosmetic systems such as chat, spyglass play and recoil animation. */
+    FULL(1, true, true),
+    /** Tactical systems only, at half cadence. */
+    REDUCED(2, false, true),
+    /** Squad bookkeeping and strategic goals only, at a coarse cadence. */
+    STRATEGIC(10, false, false);
+
+    private final int cadenceMultiplier;
+    private final boolean cosmetic;
+    private final boolean tactical;
+
+    SurvivorLod(int cadenceMultiplier, boolean cosmetic, boolean tactical) {
+        this.cadenceMultiplier = cadenceMultiplier;
+        this.cosmetic = cosmetic;
+        this.tactical = tactical;
+    }
+
+    public int cadenceMultiplier() {
+        return cadenceMultiplier;
+    }
+
+    public boolean runsCosmeticSystems() {
+        return cosmetic;
+    }
+
+    public boolean runsTacticalSystems() {
+        return tactical;
+    }
+
+    public static SurvivorLod forDistanceSqr(double nearestPlayerDistSqr, RAIServerConfig.RuntimeValues config) {
+        double full = config.fullDetailRadius();
+        if (nearestPlayerDistSqr <= full * full) {
+            return FULL;
+        }
+        double reduced = config.reducedDetailRadius();
+        if (nearestPlayerDistSqr <= reduced * reduced) {
+            return REDUCED;
+        }
+        return STRATEGIC;
+    }
+}
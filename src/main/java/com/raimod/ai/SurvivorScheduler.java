@@ -0,0 +1,184 @@
+package com.raimod.ai;
+
+import com.raimod.ai.perf.PerfProfiler;
+import com.raimod.config.RAIServerConfig;
+import com.raimod.entity.SimulatedSurvivor;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Time-sliced survivor tick scheduler.
+ *
+ * <p>Entity ticks and movement run for every survivor on every server tick. Perception and goal arbitration become
+ * due on a per-survivor phase offset and are drained round-robin until the per-tick budget is spent; anything left
+ * stays pending and is served first on the next tick. After a complete pass the start moves on by the number of
+ * survivors served, so deferral is spread across the population. Periods are stretched by the survivor's {@link SurvivorLod}
+ * and the time spent is accumulated per tier for reporting.
+ */
+public final class SurvivorScheduler {
+    private static final int SLOT_PURGE_INTERVAL = 200;
+    private static final PerfProfiler PROFILER = PerfProfiler.instance();
+    private static final PerfProfiler.Section PERF_PERCEPTION = PROFILER.section("tick", "perception");
+    private static final PerfProfiler.Section PERF_GOALS = PROFILER.section("tick", "goals");
+
+    private final Map<UUID, Slot> slots = new HashMap<>();
+    private final List<SimulatedSurvivor> ready = new ArrayList<>();
+    private final long[] tierNanos = new long[SurvivorLod.values().length];
+    private final long[] tierSurvivorTicks = new long[SurvivorLod.values().length];
+    private long tickCounter;
+    private int cursor;
+    private int deferredLastTick;
+
+    public void tick(List<SimulatedSurvivor> survivors, RAIServerConfig.RuntimeValues config) {
+        tickCounter++;
+        ready.clear();
+
+        for (SimulatedSurvivor survivor : survivors) {
+            if (!survivor.beginTick()) {
+                continue;
+            }
+            Slot slot = slots.computeIfAbsent(survivor.id(), Slot::new);
+            slot.lastSeenTick = tickCounter;
+            markDue(slot, survivor.lod(), config);
+            tierSurvivorTicks[survivor.lod().ordinal()]++;
+            ready.add(survivor);
+        }
+
+        runBudgeted(config);
+
+        for (SimulatedSurvivor survivor : ready) {
+            survivor.finishTick();
+        }
+
+        if (tickCounter % SLOT_PURGE_INTERVAL == 0) {
+            purgeStaleSlots();
+        }
+    }
+
+    public int deferredLastTick() {
+        return deferredLastTick;
+    }
+
+    public void forget(UUID survivorId) {
+        slots.remove(survivorId);
+        PROFILER.forgetSurvivor(survivorId);
+    }
+
+    /**
+     * Returns per-tier cost accumulated since the previous call and resets the counters.
+     */
+    public TierCost[] drainTierCosts() {
+        SurvivorLod[] tiers = SurvivorLod.values();
+        TierCost[] costs = new TierCost[tiers.length];
+        for (SurvivorLod tier : tiers) {
+            int i = tier.ordinal();
+            costs[i] = new TierCost(tier, tierSurvivorTicks[i], tierNanos[i]);
+            tierSurvivorTicks[i] = 0;
+            tierNanos[i] = 0;
+        }
+        return costs;
+    }
+
+    private void markDue(Slot slot, SurvivorLod lod, RAIServerConfig.RuntimeValues config) {
+        long phase = tickCounter + slot.phaseOffset;
+        int multiplier = lod.cadenceMultiplier();
+        if (phase % Math.max(1, config.perceptionPeriodTicks() * multiplier) == 0) {
+            slot.perceptionPending = true;
+        }
+        if (phase % Math.max(1, config.goalPeriodTicks() * multiplier) == 0) {
+            slot.goalsPending = true;
+        }
+    }
+
+    private void runBudgeted(RAIServerConfig.RuntimeValues config) {
+        deferredLastTick = 0;
+        int size = ready.size();
+        if (size == 0) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + (long) (config.tickBudgetMs() * 1_000_000.0);
+        int start = Math.floorMod(cursor, size);
+        int processed = 0;
+
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            SimulatedSurvivor survivor = ready.get(index);
+            Slot slot = slots.get(survivor.id());
+            if (!slot.hasPendingWork()) {
+                continue;
+            }
+
+            // Always make progress on at least one survivor so an over-budget tick cannot starve the queue.
+            long begin = System.nanoTime();
+            if (processed > 0 && begin >= deadline) {
+                cursor = index;
+                deferredLastTick = countPending(start + i, start + size);
+                return;
+            }
+
+            long profiled = PROFILER.begin();
+            if (slot.perceptionPending) {
+                slot.perceptionPending = false;
+                survivor.tickPerception();
+                PERF_PERCEPTION.end(profiled);
+            }
+            if (slot.goalsPending) {
+                slot.goalsPending = false;
+                long goals = PROFILER.begin();
+                survivor.tickGoals();
+                PERF_GOALS.end(goals);
+            }
+            PROFILER.endSurvivor(survivor.id(), profiled);
+            tierNanos[survivor.lod().ordinal()] += System.nanoTime() - begin;
+            processed++;
+        }
+        // Rotate even when everything fit, so whoever is first in line when the budget next runs out changes each tick.
+        cursor = start + processed;
+    }
+
+    private int countPending(int from, int toExclusive) {
+        int size = ready.size();
+        int pending = 0;
+        for (int i = from; i < toExclusive; i++) {
+            if (slots.get(ready.get(i % size).id()).hasPendingWork()) {
+                pending++;
+            }
+        }
+        return pending;
+    }
+
+    private void purgeStaleSlots() {
+        Iterator<Slot> it = slots.values().iterator();
+        while (it.hasNext()) {
+            if (tickCounter - it.next().lastSeenTick > SLOT_PURGE_INTERVAL) {
+                it.remove();
+            }
+        }
+    }
+
+    public record TierCost(SurvivorLod tier, long survivorTicks, long nanos) {
+        public double averageMicros() {
+            return survivorTicks == 0 ? 0.0 : nanos / 1000.0 / survivorTicks;
+        }
+    }
+
+    private static final class Slot {
+        private final int phaseOffset;
+        private boolean perceptionPending;
+        private boolean goalsPending;
+        private long lastSeenTick;
+
+        private Slot(UUID survivorId) {
+            this.phaseOffset = Math.floorMod(survivorId.hashCode(), 1 << 16);
+        }
+
+        private boolean hasPendingWork() {
+            return perceptionPending || goalsPending;
+        }
+    }
+}
@@ -7,27 +7,151 @@ import com.raimod.ai.behavior.goals.Goal;
 import com.raimod.ai.behavior.goals.LootRecoveryGoal;
 import com.raimod.ai.behavior.goals.ProgressionGoal;
 import com.raimod.ai.behavior.goals.RaidGoal;
+import com.raimod.ai.perf.PerfProfiler;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
+/**
+ * Picks and runs the best goal for one survivor.
+ *
+ * <p>Goals are kept in a flat array sorted by {@link Goal#maxScore()}, highest first. Arbitration walks the array and
+ * stops as soon as the best score so far reaches the next goal's bound, so expensive low-value goals are skipped
+ * whenever something more urgent already won, and a pass allocates nothing.
+ *
+ * <p>Scores are cached for each goal's {@link Goal#refreshTicks()}. A winning goal is committed for its
+ * {@link Goal#commitTicks()}: until then only interrupt goals are scored against it, and it is dropped early only when
+ * its own refreshed score reaches zero. Time is the world's game time, or the number of passes when there is no world.
+ */
 public final class BehaviorEngine {
-    private final List<Goal> goals = List.of(
-        new CombatReactionGoal(),
-        new BaseDefenseGoal(),
-        new CampingGoal(),
-        new LootRecoveryGoal(),
-        new RaidGoal(),
-        new ProgressionGoal()
-    );
+    private static final PerfProfiler PROFILER = PerfProfiler.instance();
+
+    private final Goal[] goals;
+    private final double[] bounds;
+    private final boolean[] strategic;
+    private final boolean[] interrupts;
+    private final PerfProfiler.Section[] scoreSections;
+    private final PerfProfiler.Section[] executeSections;
+    private final double[] cachedScores;
+    private final long[] refreshAt;
+    private int committed = -1;
+    private long commitUntil;
+    private long passes;
+
+    public BehaviorEngine() {
+        this(List.of(
+            new CombatReactionGoal(),
+            new BaseDefenseGoal(),
+            new CampingGoal(),
+            new LootRecoveryGoal(),
+            new RaidGoal(),
+            new ProgressionGoal()
+        ));
+    }
+
+    /**
+     * Engine over an explicit goal list, for benchmarks and headless runs.
+     */
+    BehaviorEngine(List<Goal> goals) {
+        List<Goal> ordered = new ArrayList<>(goals);
+        ordered.sort(Comparator.comparingDouble(Goal::maxScore).reversed());
+        this.goals = ordered.toArray(Goal[]::new);
+        int count = this.goals.length;
+        this.bounds = new double[count];
+        this.strategic = new boolean[count];
+        this.interrupts = new boolean[count];
+        this.scoreSections = new PerfProfiler.Section[count];
+        this.executeSections = new PerfProfiler.Section[count];
+        this.cachedScores = new double[count];
+        this.refreshAt = new long[count];
+        for (int i = 0; i < count; i++) {
+            bounds[i] = this.goals[i].maxScore();
+            strategic[i] = this.goals[i].isStrategic();
+            interrupts[i] = this.goals[i].canInterrupt();
+            String name = this.goals[i].getClass().getSimpleName();
+            scoreSections[i] = PROFILER.section("goal", name + ".score");
+            executeSections[i] = PROFILER.section("goal", name + ".execute");
+            refreshAt[i] = Long.MIN_VALUE;
+        }
+    }
 
     public void tick(SurvivorContext context) {
-        goals.stream()
-            .map(goal -> new ScoredGoal(goal, goal.score(context)))
-            .filter(scored -> scored.score > 0)
-            .max(Comparator.comparingDouble(ScoredGoal::score))
-            .ifPresent(scored -> scored.goal.execute(context));
+        if (select(context, false) != null) {
+            execute(committed, context);
+        }
+    }
+
+    public void tickStrategic(SurvivorContext context) {
+        if (select(context, true) != null) {
+            execute(committed, context);
+        }
+    }
+
+    /**
+     * Goal to run this tick, or {@code null} when nothing scores above zero; scores without executing, so headless
+     * runs can drive arbitration on their own. Ties go to the goal with the higher bound.
+     */
+    public Goal select(SurvivorContext context, boolean strategicOnly) {
+        long now = context.world() != null ? context.world().gameTime() : ++passes;
+
+        if (committed >= 0 && now < commitUntil && (!strategicOnly || strategic[committed])) {
+            double committedScore = scoreAt(committed, context, now);
+            if (committedScore > 0.0) {
+                for (int i = 0; i < goals.length && bounds[i] > committedScore; i++) {
+                    if (i == committed || !interrupts[i] || (strategicOnly && !strategic[i])) {
+                        continue;
+                    }
+                    if (scoreAt(i, context, now) > committedScore) {
+                        return commit(i, now);
+                    }
+                }
+                return goals[committed];
+            }
+        }
+
+        int best = -1;
+        double bestScore = 0.0;
+        for (int i = 0; i < goals.length; i++) {
+            if (bestScore >= bounds[i]) {
+                break;
+            }
+            if (strategicOnly && !strategic[i]) {
+                continue;
+            }
+            double score = scoreAt(i, context, now);
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        if (best < 0) {
+            committed = -1;
+            return null;
+        }
+        return commit(best, now);
+    }
+
+    private Goal commit(int index, long now) {
+        committed = index;
+        commitUntil = now + goals[index].commitTicks();
+        return goals[index];
+    }
+
+    private double scoreAt(int index, SurvivorContext context, long now) {
+        if (now < refreshAt[index]) {
+            return cachedScores[index];
+        }
+        long begin = PROFILER.begin();
+        double score = goals[index].score(context);
+        scoreSections[index].end(begin);
+        cachedScores[index] = score;
+        refreshAt[index] = now + Math.max(1, goals[index].refreshTicks());
+        return score;
     }
 
-    private record ScoredGoal(Goal goal, double score) {
+    private void execute(int index, SurvivorContext context) {
+        long begin = PROFILER.begin();
+        goals[index].execute(context);
+        executeSections[index].end(begin);
     }
 }
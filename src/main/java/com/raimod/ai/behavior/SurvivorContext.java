@@ -1,14 +1,51 @@
 package com.raimod.ai.behavior;
 
+import com.raimod.ai.memory.SurvivorMemory;
+import com.raimod.ai.perception.SensorBlackboard;
+import com.raimod.ai.world.AgentView;
+import com.raimod.ai.world.EntityAgentView;
+import com.raimod.ai.world.LevelWorldView;
+import com.raimod.ai.world.WorldView;
 import com.raimod.config.RAIServerConfig;
 import com.raimod.entity.SimulatedSurvivor;
 import com.raimod.integration.ModIntegrationRegistry;
 import net.minecraft.server.MinecraftServer;
 
+/**
+ * Everything a goal sees for one decision.
+ *
+ * <p>Scoring only reads {@code world}, {@code self} and {@code memory}, so headless runs can leave the server,
+ * entity and integrations {@code null}. Execution still drives the live entity.
+ */
 public record SurvivorContext(
     MinecraftServer server,
     SimulatedSurvivor survivor,
     ModIntegrationRegistry integrations,
-    RAIServerConfig.RuntimeValues config
+    RAIServerConfig.RuntimeValues config,
+    WorldView world,
+    AgentView self,
+    SurvivorMemory memory
 ) {
+    public SurvivorContext(MinecraftServer server, SimulatedSurvivor survivor, ModIntegrationRegistry integrations,
+                           RAIServerConfig.RuntimeValues config) {
+        this(server, survivor, integrations, config,
+            server == null ? null : new LevelWorldView(server.overworld(), integrations),
+            survivor == null ? null : new EntityAgentView(survivor),
+            survivor == null ? null : survivor.memory());
+    }
+
+    /**
+     * The survivor's perception snapshot for this tick, or {@code null} in headless runs.
+     */
+    public SensorBlackboard sensors() {
+        return survivor == null ? null : survivor.sensors();
+    }
+
+    /**
+     * Context without a live server or entity, for headless simulation and benchmarks.
+     */
+    public static SurvivorContext headless(RAIServerConfig.RuntimeValues config, WorldView world, AgentView self,
+                                           SurvivorMemory memory) {
+        return new SurvivorContext(null, null, null, config, world, self, memory);
+    }
 }
@@ -1,6 +1,7 @@
 package com.raimod.ai.behavior.goals;
 
 import com.raimod.ai.behavior.SurvivorContext;
+import com.raimod.ai.perception.SensorBlackboard;
 import com.raimod.entity.SurvivorState;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.entity.Entity;
@@ -8,17 +9,38 @@ import net.minecraft.world.entity.Entity;
 public final class BaseDefenseGoal implements Goal {
     @Override
     public double score(SurvivorContext context) {
-        boolean underAttack = context.integrations().securityCraft().hasRecentBreakAttempt(context.survivor().id());
+        boolean underAttack = context.world().homeUnderAttack(context.self().id());
         return underAttack ? 1.0 : 0.0;
     }
 
+    @Override
+    public double maxScore() {
+        return 1.0;
+    }
+
+    @Override
+    public int refreshTicks() {
+        return 10;
+    }
+
+    @Override
+    public int commitTicks() {
+        return 100;
+    }
+
+    @Override
+    public boolean canInterrupt() {
+        return true;
+    }
+
     @Override
     public void execute(SurvivorContext context) {
         context.survivor().memory().combatLog().append("Switching to BASE_DEFENSE near home territory");
         context.integrations().voiceChat().broadcastSquadPing(context.survivor().id(), "home_under_attack");
 
-        Entity target = context.server().overworld().getNearestPlayer(context.survivor(), 28.0);
-        if (target != null) {
+        SensorBlackboard.Contact nearest = context.sensors().nearestPlayer(28.0);
+        if (nearest != null) {
+            Entity target = nearest.entity();
             float accuracy = context.integrations().physicalStats().getAccuracySkill(context.survivor().id());
             context.integrations().tacz().calculateLeadShot(
                 context.survivor(),
@@ -1,122 +1,98 @@
 package com.raimod.ai.behavior.goals;
 
 import com.raimod.ai.behavior.SurvivorContext;
+import com.raimod.ai.perception.SensorBlackboard;
+import com.raimod.ai.world.AgentView;
+import com.raimod.ai.world.WorldView;
 import com.raimod.entity.SimulatedSurvivor;
 import com.raimod.entity.SurvivorState;
+import java.util.UUID;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.phys.HitResult;
-import net.minecraft.world.phys.Vec3;
-import net.minecraft.world.level.ClipContext;
 
 /**
  * Camping goal that models window sniping and roof camping.
  */
 public final class CampingGoal implements Goal {
+    private static final long PLAN_TTL_TICKS = 600;
+
+    /**
+     * Result of the last finished {@link VantageSearch}: the player and region it was computed for, and the spot, or
+     * {@code null} when no window or roof had a view. Reused until the target leaves the region or it expires.
+     */
+    private UUID plannedFor;
+    private long plannedRegion;
+    private BlockPos plannedSpot;
+    private long plannedUntil;
+    private VantageSearch search;
+
     @Override
     public double score(SurvivorContext context) {
-        SimulatedSurvivor survivor = context.survivor();
-        Player target = context.server().overworld().getNearestPlayer(survivor, 56.0);
-        if (target == null) {
+        AgentView target = context.world().nearestPlayer(context.self().position(), 56.0);
+        if (target == null || !isIndoors(context.world(), target)) {
             return 0.0;
         }
+        return 0.78;
+    }
+
+    @Override
+    public double maxScore() {
+        return 0.78;
+    }
+
+    @Override
+    public int refreshTicks() {
+        return 20;
+    }
 
-        boolean indoors = isIndoors(context.server().overworld(), target);
-        return indoors ? 0.78 : 0.0;
+    @Override
+    public int commitTicks() {
+        return 200;
     }
 
     @Override
     public void execute(SurvivorContext context) {
         SimulatedSurvivor survivor = context.survivor();
         ServerLevel level = context.server().overworld();
-        Player target = level.getNearestPlayer(survivor, 56.0);
+        // The score is cached and the goal stays committed for many ticks, so the target is looked up fresh each run.
+        Player target = nearestPlayer(context);
         if (target == null) {
             return;
         }
 
-        BlockPos window = findWindowSnipeSpot(level, survivor.blockPosition(), target);
-        if (window != null) {
-            context.integrations().baritone().setCoverGoal(survivor, window);
-            survivor.aimAt(target.getEyePosition());
-            survivor.setState(survivor.state().withMode(SurvivorState.TacticalMode.BASE_DEFENSE)
-                .withReactionFireTicks(Math.max(1200, survivor.state().reactionFireTicks())));
+        UUID targetId = target.getUUID();
+        long region = VantageSearch.regionOf(target.blockPosition());
+        long now = level.getGameTime();
+        if (targetId.equals(plannedFor) && region == plannedRegion && now < plannedUntil) {
+            if (plannedSpot != null) {
+                context.integrations().baritone().setCoverGoal(survivor, plannedSpot);
+                survivor.aimAt(target.getEyePosition());
+                survivor.setState(survivor.state().withMode(SurvivorState.TacticalMode.BASE_DEFENSE)
+                    .withReactionFireTicks(Math.max(1200, survivor.state().reactionFireTicks())));
+            }
             return;
         }
 
-        BlockPos roof = findRoofCampSpot(level, target);
-        if (roof != null) {
-            context.integrations().baritone().setCoverGoal(survivor, roof);
-            survivor.aimAt(target.getEyePosition());
-            survivor.setState(survivor.state().withMode(SurvivorState.TacticalMode.BASE_DEFENSE)
-                .withReactionFireTicks(Math.max(1200, survivor.state().reactionFireTicks())));
+        if (search == null || !search.isFor(targetId, region)) {
+            search = new VantageSearch(survivor.blockPosition(), target);
         }
-    }
-
-    private boolean isIndoors(ServerLevel level, LivingEntity target) {
-        BlockPos above = target.blockPosition().above();
-        return !level.getBlockState(above).isAir();
-    }
-
-    private BlockPos findWindowSnipeSpot(ServerLevel level, BlockPos around, LivingEntity target) {
-        BlockPos targetPos = target.blockPosition();
-        BlockPos best = null;
-        double bestDist = Double.MAX_VALUE;
-
-        for (int x = -12; x <= 12; x++) {
-            for (int y = -3; y <= 4; y++) {
-                for (int z = -12; z <= 12; z++) {
-                    BlockPos candidate = targetPos.offset(x, y, z);
-                    if (!level.getBlockState(candidate).isAir() && level.getBlockState(candidate).canOcclude()) {
-                        continue;
-                    }
-                    if (!hasLos(level, Vec3.atCenterOf(candidate), target.getEyePosition(), target)) {
-                        continue;
-                    }
-                    double d = candidate.distSqr(around);
-                    if (d < bestDist) {
-                        bestDist = d;
-                        best = candidate.immutable();
-                    }
-                }
-            }
+        search.step(level, now);
+        if (search.isDone()) {
+            plannedFor = search.targetId();
+            plannedRegion = search.region();
+            plannedSpot = search.result();
+            plannedUntil = now + PLAN_TTL_TICKS;
+            search = null;
         }
-        return best;
     }
 
-    private BlockPos findRoofCampSpot(ServerLevel level, LivingEntity target) {
-        BlockPos base = target.blockPosition();
-        BlockPos best = null;
-        double bestDist = Double.MAX_VALUE;
-
-        for (int y = 3; y <= 4; y++) {
-            for (int x = -4; x <= 4; x++) {
-                for (int z = -4; z <= 4; z++) {
-                    BlockPos pos = base.offset(x, y, z);
-                    if (!level.getBlockState(pos).isAir()) {
-                        continue;
-                    }
-                    if (!level.getBlockState(pos.below()).isSolid()) {
-                        continue;
-                    }
-                    if (!hasLos(level, Vec3.atCenterOf(pos), target.getEyePosition(), target)) {
-                        continue;
-                    }
-                    double d = pos.distSqr(base);
-                    if (d < bestDist) {
-                        bestDist = d;
-                        best = pos.immutable();
-                    }
-                }
-            }
-        }
-
-        return best;
+    private Player nearestPlayer(SurvivorContext context) {
+        SensorBlackboard.Contact contact = context.sensors().nearestPlayer(56.0);
+        return contact != null && contact.entity() instanceof Player player ? player : null;
     }
 
-    private boolean hasLos(ServerLevel level, Vec3 from, Vec3 to, LivingEntity owner) {
-        HitResult hit = level.clip(new ClipContext(from, to, ClipContext.Block.VISUAL, ClipContext.Fluid.NONE, owner));
-        return hit.getType() == HitResult.Type.MISS;
+    private boolean isIndoors(WorldView world, AgentView target) {
+        return !world.isAir(target.blockPosition().above());
     }
 }
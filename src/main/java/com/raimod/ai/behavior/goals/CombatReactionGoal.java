@@ -1,18 +1,17 @@
 package com.raimod.ai.behavior.goals;
 
 import com.raimod.ai.behavior.SurvivorContext;
+import com.raimod.ai.perception.SensorBlackboard;
 import com.raimod.entity.SimulatedSurvivor;
 import com.raimod.entity.SurvivorState;
 import com.raimod.integration.SurvivorChatBridge;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.phys.Vec3;
@@ -24,12 +23,30 @@ public final class CombatReactionGoal implements Goal {
 
     @Override
     public double score(SurvivorContext context) {
-        Entity attacker = context.survivor().getLastHurtByMob();
-        boolean loudSoundNearby = context.integrations().hasLoudSoundNear(context.survivor(), 32);
-        if (attacker != null) {
+        if (context.self().recentlyAttacked()) {
             return 1.3;
         }
-        return loudSoundNearby ? 0.95 : 0.0;
+        return context.world().loudSoundNear(context.self().blockPosition(), 32) ? 0.95 : 0.0;
+    }
+
+    @Override
+    public double maxScore() {
+        return 1.3;
+    }
+
+    @Override
+    public int refreshTicks() {
+        return 1;
+    }
+
+    @Override
+    public int commitTicks() {
+        return 20;
+    }
+
+    @Override
+    public boolean canInterrupt() {
+        return true;
     }
 
     @Override
@@ -155,43 +172,36 @@ public final class CombatReactionGoal implements Goal {
         SimulatedSurvivor survivor = context.survivor();
         ServerLevel level = context.server().overworld();
 
-        double baseRange = 48.0 * awarenessModifier(survivor.state().tacticalMode());
-        List<LivingEntity> candidates = level.getEntitiesOfClass(LivingEntity.class,
-            survivor.getBoundingBox().inflate(baseRange),
-            entity -> entity.isAlive() && entity != survivor);
-
-        List<ScoredTarget> scored = new ArrayList<>();
-        for (LivingEntity entity : candidates) {
+        double baseRange = SensorBlackboard.ENTITY_RANGE * awarenessModifier(survivor.state().tacticalMode());
+        LivingEntity best = null;
+        double bestScore = 0.0;
+        for (SensorBlackboard.Contact contact : context.sensors().contacts()) {
+            LivingEntity entity = contact.entity();
             double effectiveRange = baseRange;
             if (isStealthed(level, entity)) {
                 effectiveRange *= 0.4;
             }
 
-            double distance = survivor.distanceTo(entity);
-            if (distance > effectiveRange) {
-                continue;
-            }
-
-            if (!survivor.isEntityVisible(entity)) {
+            double distance = contact.distance();
+            if (distance > effectiveRange || !contact.visible()) {
                 continue;
             }
 
             double score = (1.0 / Math.max(1.0, distance))
-                * (hasGun(entity) ? 2.0 : 1.0)
-                * (isLookingAtMe(entity, survivor) ? 1.5 : 1.0);
+                * (contact.armed() ? 2.0 : 1.0)
+                * (contact.facingMe() ? 1.5 : 1.0);
 
             if (entity instanceof SimulatedSurvivor otherBot && otherBot.getGameProfile().getName().startsWith("rai_")
                 && survivor.trustFactor() < 0.35f) {
                 score *= 2.2;
             }
 
-            scored.add(new ScoredTarget(entity, score));
+            if (score > bestScore) {
+                bestScore = score;
+                best = entity;
+            }
         }
-
-        return scored.stream()
-            .max(Comparator.comparingDouble(ScoredTarget::score))
-            .map(ScoredTarget::entity)
-            .orElse(null);
+        return best;
     }
 
     private LivingEntity maybePickBetrayalTarget(SurvivorContext context, LivingEntity currentTarget) {
@@ -200,11 +210,13 @@ public final class CombatReactionGoal implements Goal {
             return null;
         }
 
-        List<SimulatedSurvivor> nearbyBots = context.server().overworld().getEntitiesOfClass(
-            SimulatedSurvivor.class,
-            survivor.getBoundingBox().inflate(32.0),
-            other -> other != survivor && currentTarget.getUUID().equals(other.currentCombatTarget())
-        );
+        List<SimulatedSurvivor> nearbyBots = new ArrayList<>();
+        for (SensorBlackboard.Contact contact : context.sensors().contacts()) {
+            if (contact.distanceSqr() <= 32.0 * 32.0 && contact.entity() instanceof SimulatedSurvivor other
+                && currentTarget.getUUID().equals(other.currentCombatTarget())) {
+                nearbyBots.add(other);
+            }
+        }
 
         if (nearbyBots.isEmpty()) {
             return null;
@@ -220,16 +232,6 @@ public final class CombatReactionGoal implements Goal {
         return 1.0;
     }
 
-    private boolean hasGun(LivingEntity entity) {
-        return !entity.getMainHandItem().isEmpty() && !entity.getMainHandItem().isEdible();
-    }
-
-    private boolean isLookingAtMe(LivingEntity entity, SimulatedSurvivor me) {
-        Vec3 look = entity.getLookAngle().normalize();
-        Vec3 toMe = me.getEyePosition().subtract(entity.getEyePosition()).normalize();
-        return look.dot(toMe) > 0.75;
-    }
-
     private boolean isStealthed(ServerLevel level, LivingEntity entity) {
         if (!(entity instanceof Player player) || !player.isShiftKeyDown()) {
             return false;
@@ -238,7 +240,4 @@ public final class CombatReactionGoal implements Goal {
         BlockPos above = entity.blockPosition().above();
         return !level.getBlockState(above).isAir() && level.getBlockState(above).isCollisionShapeFullBlock(level, above);
     }
-
-    private record ScoredTarget(LivingEntity entity, double score) {
-    }
 }
@@ -6,4 +6,42 @@ public interface Goal {
     double score(SurvivorContext context);
 
     void execute(SurvivorContext context);
+
+    /**
+     * Upper bound on {@link #score}. The engine scores goals in descending bound order and stops once no remaining goal
+     * can beat the best score so far, so this must be cheap and never below what {@code score} can return.
+     */
+    default double maxScore() {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Game ticks a score stays valid. The engine reuses the cached score until it is due again, so slow-changing goals
+     * should return a long interval.
+     */
+    default int refreshTicks() {
+        return 1;
+    }
+
+    /**
+     * Game ticks the survivor sticks with this goal once it wins, unless an {@link #canInterrupt() interrupt} outscores
+     * it or its own refreshed score drops to zero.
+     */
+    default int commitTicks() {
+        return 0;
+    }
+
+    /**
+     * Interrupt goals are still scored while another goal is committed and take over when they score higher.
+     */
+    default boolean canInterrupt() {
+        return false;
+    }
+
+    /**
+     * Strategic goals keep running when a survivor is far from every player and only gets coarse ticks.
+     */
+    default boolean isStrategic() {
+        return false;
+    }
 }
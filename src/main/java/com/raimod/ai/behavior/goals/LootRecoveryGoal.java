@@ -1,20 +1,36 @@
 package com.raimod.ai.behavior.goals;
 
 import com.raimod.ai.behavior.SurvivorContext;
+import com.raimod.ai.world.BlockQuery;
 import com.raimod.entity.SurvivorState;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.Container;
-import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.RandomizableContainerBlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
 
 public final class LootRecoveryGoal implements Goal {
     @Override
     public double score(SurvivorContext context) {
-        boolean hasUnrecoveredCorpse = context.integrations().corpse().hasUnrecoveredCorpse(context.survivor().id());
+        boolean hasUnrecoveredCorpse = context.world().hasUnrecoveredCorpse(context.self().id());
         return hasUnrecoveredCorpse ? 0.85 : 0.0;
     }
 
+    @Override
+    public double maxScore() {
+        return 0.85;
+    }
+
+    @Override
+    public int refreshTicks() {
+        return 20;
+    }
+
+    @Override
+    public int commitTicks() {
+        return 60;
+    }
+
     @Override
     public void execute(SurvivorContext context) {
         Container source = findNearbyContainer(context.server().overworld(), context.survivor().blockPosition());
@@ -32,14 +48,9 @@ public final class LootRecoveryGoal implements Goal {
     }
 
     private Container findNearbyContainer(ServerLevel level, BlockPos center) {
-        for (int x = -3; x <= 3; x++) {
-            for (int y = -2; y <= 2; y++) {
-                for (int z = -3; z <= 3; z++) {
-                    BlockEntity be = level.getBlockEntity(center.offset(x, y, z));
-                    if (be instanceof RandomizableContainerBlockEntity container) {
-                        return container;
-                    }
-                }
+        for (BlockPos pos : BlockQuery.find(level, center, 3, 2, 2, BlockState::hasBlockEntity, Integer.MAX_VALUE)) {
+            if (level.getBlockEntity(pos) instanceof RandomizableContainerBlockEntity container) {
+                return container;
             }
         }
         return null;
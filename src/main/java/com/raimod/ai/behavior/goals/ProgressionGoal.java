@@ -9,10 +9,30 @@ public final class ProgressionGoal implements Goal {
         return 0.25;
     }
 
+    @Override
+    public double maxScore() {
+        return 0.25;
+    }
+
+    @Override
+    public int refreshTicks() {
+        return 200;
+    }
+
+    @Override
+    public int commitTicks() {
+        return 100;
+    }
+
     @Override
     public void execute(SurvivorContext context) {
         context.integrations().physicalStats().train(context.survivor().id(), "mining");
         context.survivor().memory().refreshStaleKnowledge(context.server(), context.config().memoryRevalidationSeconds());
         context.survivor().setState(context.survivor().state().withMode(SurvivorState.TacticalMode.FARMING));
     }
+
+    @Override
+    public boolean isStrategic() {
+        return true;
+    }
 }
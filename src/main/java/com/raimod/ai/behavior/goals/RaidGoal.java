@@ -1,23 +1,52 @@
 package com.raimod.ai.behavior.goals;
 
 import com.raimod.ai.behavior.SurvivorContext;
+import com.raimod.ai.memory.BreachPlan;
+import com.raimod.ai.memory.BreachPlanner;
 import com.raimod.ai.memory.RaidTargetKnowledge;
 import com.raimod.entity.SurvivorState;
-import net.minecraft.core.BlockPos;
-import net.minecraft.server.level.ServerLevel;
-import net.minecraft.tags.BlockTags;
 
 public final class RaidGoal implements Goal {
+    /**
+     * Chests counted towards the score, sized so the bound reaches the highest configurable raid threshold.
+     */
+    private static final int MAX_COUNTED_CHESTS = 500;
+    private static final double SCORE_PER_CHEST = 10.0;
+
+    /**
+     * Result of the last {@link #score}, which the engine caches for {@link #refreshTicks()}; {@link #execute} reads it
+     * instead of scoring again.
+     */
+    private double lastScore;
+
     @Override
     public double score(SurvivorContext context) {
-        RaidTargetKnowledge target = context.survivor().memory().bestRaidCandidate();
+        RaidTargetKnowledge target = context.memory().bestRaidCandidate();
         if (target == null) {
+            lastScore = 0.0;
             return 0.0;
         }
 
-        double distanceToHome = context.survivor().memory().homePosition().distSqr(target.position());
+        double distanceToHome = context.memory().homePosition().distSqr(target.position());
         distanceToHome = Math.sqrt(distanceToHome);
-        return (target.knownChestCount() * 10.0) - (distanceToHome * 0.1) - (target.defenderCount() * 50.0);
+        lastScore = (Math.min(target.knownChestCount(), MAX_COUNTED_CHESTS) * SCORE_PER_CHEST) - (distanceToHome * 0.1)
+            - (target.defenderCount() * 50.0);
+        return lastScore;
+    }
+
+    @Override
+    public double maxScore() {
+        return MAX_COUNTED_CHESTS * SCORE_PER_CHEST;
+    }
+
+    @Override
+    public int refreshTicks() {
+        return 100;
+    }
+
+    @Override
+    public int commitTicks() {
+        return 200;
     }
 
     @Override
@@ -27,7 +56,7 @@ public final class RaidGoal implements Goal {
             return;
         }
 
-        double raidScore = score(context);
+        double raidScore = lastScore;
         SurvivorState state = context.survivor().state();
         if (raidScore <= context.config().raidThreshold() && state.tacticalMode() != SurvivorState.TacticalMode.RAID_BREACH
             && state.tacticalMode() != SurvivorState.TacticalMode.RAID_LOOT
@@ -43,11 +72,12 @@ public final class RaidGoal implements Goal {
         }
 
         if (state.tacticalMode() == SurvivorState.TacticalMode.RAID_BREACH) {
-            BlockPos wall = findRaidWall(context.server().overworld(), target.position());
-            if (wall != null) {
-                context.integrations().placeExplosive(context.survivor(), wall);
+            BreachPlan plan = BreachPlanner.instance().plan(context.server().overworld(), target);
+            BreachPlan.BreachPoint breach = plan.best();
+            if (breach != null) {
+                context.integrations().placeExplosive(context.survivor(), breach.pos());
             }
-            if (isTargetAccessible(context.server().overworld(), target.position())) {
+            if (plan.accessible()) {
                 context.survivor().setState(state.withMode(SurvivorState.TacticalMode.RAID_LOOT));
             }
             return;
@@ -65,41 +95,8 @@ public final class RaidGoal implements Goal {
         }
     }
 
-    private boolean isTargetAccessible(ServerLevel level, BlockPos targetPos) {
-        for (Direction3D dir : Direction3D.values()) {
-            BlockPos adjacent = targetPos.offset(dir.dx, dir.dy, dir.dz);
-            if (level.getBlockState(adjacent).isAir()) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private BlockPos findRaidWall(ServerLevel level, BlockPos target) {
-        int radius = 5;
-        for (int x = -radius; x <= radius; x++) {
-            for (int y = -2; y <= 2; y++) {
-                for (int z = -radius; z <= radius; z++) {
-                    BlockPos pos = target.offset(x, y, z);
-                    if (level.getBlockState(pos).is(BlockTags.MINEABLE_WITH_PICKAXE)) {
-                        return pos;
-                    }
-                }
-            }
-        }
-        return null;
-    }
-
-    private enum Direction3D {
-        UP(0, 1, 0), DOWN(0, -1, 0), NORTH(0, 0, -1), SOUTH(0, 0, 1), EAST(1, 0, 0), WEST(-1, 0, 0);
-        final int dx;
-        final int dy;
-        final int dz;
-
-        Direction3D(int dx, int dy, int dz) {
-            this.dx = dx;
-            this.dy = dy;
-            this.dz = dz;
-        }
+    @Override
+    public boolean isStrategic() {
+        return true;
     }
 }
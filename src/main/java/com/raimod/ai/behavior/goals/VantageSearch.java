@@ -0,0 +1,181 @@
+package com.raimod.ai.behavior.goals;
+
+import com.raimod.ai.raycast.RayBatch;
+import com.raimod.ai.raycast.RaycastEngine;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.level.ClipContext;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Resumable search for a spot with a view of a camping target.
+ *
+ * <p>Candidates are enumerated {@link #CELLS_PER_STEP} cells per step and pruned cheaply: window cells must have a
+ * floor, sit no lower than just below the target and not share its room, and roof cells must stand on a solid block.
+ * Once every cell is visited, windows are ordered by distance to the survivor and roofs by distance to the target, then
+ * traced in slices of {@link #RAYS_PER_STEP} through {@link RaycastEngine}, one slice in flight at a time. The first
+ * clear candidate in that order is the answer, so the search usually stops after a slice or two.
+ */
+final class VantageSearch {
+    private static final int CELLS_PER_STEP = 1024;
+    private static final int RAYS_PER_STEP = 48;
+    private static final long SLICE_TIMEOUT_TICKS = 40;
+    private static final int WINDOW_RADIUS = 12;
+    private static final int WINDOW_MIN_Y = -1;
+    private static final int WINDOW_MAX_Y = 4;
+    private static final int WINDOW_SPAN = WINDOW_RADIUS * 2 + 1;
+    private static final int WINDOW_CELLS = WINDOW_SPAN * WINDOW_SPAN * (WINDOW_MAX_Y - WINDOW_MIN_Y + 1);
+    private static final int ROOF_RADIUS = 4;
+    private static final int ROOF_MIN_Y = 3;
+    private static final int ROOF_SPAN = ROOF_RADIUS * 2 + 1;
+    private static final int ROOF_CELLS = ROOF_SPAN * ROOF_SPAN * 2;
+
+    private final UUID targetId;
+    private final long region;
+    private final Vec3 targetEye;
+    private final BlockPos targetPos;
+    private final BlockPos survivorPos;
+    private final List<BlockPos> windows = new ArrayList<>();
+    private final List<BlockPos> roofs = new ArrayList<>();
+    private final List<BlockPos> candidates = new ArrayList<>();
+    private final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+    private int scanned;
+    private int next;
+    private long inFlightSince = -1;
+    private boolean done;
+    private BlockPos result;
+
+    VantageSearch(BlockPos survivorPos, LivingEntity target) {
+        this.targetId = target.getUUID();
+        this.targetPos = target.blockPosition();
+        this.region = regionOf(targetPos);
+        this.targetEye = target.getEyePosition();
+        this.survivorPos = survivorPos;
+    }
+
+    /**
+     * Region a plan stays valid for: the target's block position in 4-block cells.
+     */
+    static long regionOf(BlockPos pos) {
+        return BlockPos.asLong(pos.getX() >> 2, pos.getY() >> 2, pos.getZ() >> 2);
+    }
+
+    boolean isFor(UUID targetId, long region) {
+        return this.targetId.equals(targetId) && this.region == region;
+    }
+
+    UUID targetId() {
+        return targetId;
+    }
+
+    long region() {
+        return region;
+    }
+
+    boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Best spot once {@link #isDone()}, or {@code null} when nothing had a view.
+     */
+    BlockPos result() {
+        return result;
+    }
+
+    /**
+     * Enumerates the next batch of cells while any remain, otherwise submits the next slice unless one is still in
+     * flight; a slice whose callback never arrived is resent.
+     */
+    void step(ServerLevel level, long gameTime) {
+        if (done) {
+            return;
+        }
+        if (scanned < WINDOW_CELLS + ROOF_CELLS) {
+            scan(level);
+            return;
+        }
+        if (inFlightSince >= 0 && gameTime - inFlightSince < SLICE_TIMEOUT_TICKS) {
+            return;
+        }
+
+        int from = next;
+        int to = Math.min(candidates.size(), from + RAYS_PER_STEP);
+        RayBatch batch = new RayBatch(level, ClipContext.Block.VISUAL);
+        for (int i = from; i < to; i++) {
+            batch.add(Vec3.atCenterOf(candidates.get(i)), targetEye);
+        }
+        inFlightSince = gameTime;
+        RaycastEngine.instance().submit(batch, traced -> complete(from, to, traced));
+    }
+
+    private void scan(ServerLevel level) {
+        int end = Math.min(WINDOW_CELLS + ROOF_CELLS, scanned + CELLS_PER_STEP);
+        for (; scanned < end; scanned++) {
+            if (scanned < WINDOW_CELLS) {
+                scanWindow(level, scanned);
+            } else {
+                scanRoof(level, scanned - WINDOW_CELLS);
+            }
+        }
+        if (scanned == WINDOW_CELLS + ROOF_CELLS) {
+            windows.sort(Comparator.comparingDouble(pos -> pos.distSqr(survivorPos)));
+            roofs.sort(Comparator.comparingDouble(pos -> pos.distSqr(targetPos)));
+            candidates.addAll(windows);
+            candidates.addAll(roofs);
+            windows.clear();
+            roofs.clear();
+            done = candidates.isEmpty();
+        }
+    }
+
+    private void scanWindow(ServerLevel level, int index) {
+        int x = index % WINDOW_SPAN - WINDOW_RADIUS;
+        int z = index / WINDOW_SPAN % WINDOW_SPAN - WINDOW_RADIUS;
+        int y = index / (WINDOW_SPAN * WINDOW_SPAN) + WINDOW_MIN_Y;
+        if (Math.abs(x) <= 2 && Math.abs(z) <= 2) {
+            return;
+        }
+        cursor.setWithOffset(targetPos, x, y, z);
+        BlockState state = level.getBlockState(cursor);
+        if (!state.isAir() && state.canOcclude()) {
+            return;
+        }
+        if (!level.getBlockState(cursor.move(0, -1, 0)).isSolid()) {
+            return;
+        }
+        windows.add(targetPos.offset(x, y, z));
+    }
+
+    private void scanRoof(ServerLevel level, int index) {
+        int x = index % ROOF_SPAN - ROOF_RADIUS;
+        int z = index / ROOF_SPAN % ROOF_SPAN - ROOF_RADIUS;
+        int y = index / (ROOF_SPAN * ROOF_SPAN) + ROOF_MIN_Y;
+        cursor.setWithOffset(targetPos, x, y, z);
+        if (level.getBlockState(cursor).isAir() && level.getBlockState(cursor.move(0, -1, 0)).isSolid()) {
+            roofs.add(targetPos.offset(x, y, z));
+        }
+    }
+
+    private void complete(int from, int to, RayBatch traced) {
+        if (done || from != next) {
+            return;
+        }
+        inFlightSince = -1;
+        for (int i = 0; i < traced.size(); i++) {
+            if (traced.isClear(i)) {
+                result = candidates.get(from + i);
+                done = true;
+                return;
+            }
+        }
+        next = to;
+        done = next >= candidates.size();
+    }
+}
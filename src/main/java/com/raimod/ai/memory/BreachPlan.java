@@ -0,0 +1,21 @@
+package com.raimod.ai.memory;
+
+import java.util.List;
+import net.minecraft.core.BlockPos;
+
+/**
+ * Wall analysis around a {@link RaidTargetKnowledge} position: whether the target is already reachable and the breach
+ * points through its shell, cheapest first.
+ */
+public record BreachPlan(BlockPos target, boolean accessible, List<BreachPoint> breachPoints) {
+    public BreachPoint best() {
+        return breachPoints.isEmpty() ? null : breachPoints.get(0);
+    }
+
+    /**
+     * Outward-facing shell block, the number of solid blocks from it towards the target, their summed destroy time and
+     * blast resistance, and the ranking cost derived from them.
+     */
+    public record BreachPoint(BlockPos pos, int thickness, float hardness, float resistance, double cost) {
+    }
+}
@@ -0,0 +1,193 @@
+package com.raimod.ai.memory;
+
+import com.raimod.ai.world.BlockChangeEvents;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Builds and caches a {@link BreachPlan} per raid target position, shared by every survivor raiding it.
+ *
+ * <p>A plan walks the target's surroundings once: every solid block whose outward face (away from the target) is open
+ * is a candidate, and the blocks from it towards the target give its thickness, destroy time and blast resistance.
+ * The walk steps one face at a time along whichever horizontal axis is still farther from the target, so diagonal
+ * candidates close in on both axes, and a candidate only counts if the open space behind it leads to the target's
+ * column without meeting another solid block. Candidates are ranked by cost and the best {@link #MAX_BREACH_POINTS}
+ * kept. A plan is dropped when a block inside its region changes or nobody asked for it in {@link #STALE_TICKS}, and
+ * rebuilt on the next request. Server thread only.
+ */
+public final class BreachPlanner {
+    private static final BreachPlanner INSTANCE = new BreachPlanner();
+    private static final int RADIUS = 5;
+    private static final int HALF_HEIGHT = 2;
+    private static final int MAX_THICKNESS = 4;
+    private static final int MAX_BREACH_POINTS = 8;
+    private static final long STALE_TICKS = 1200;
+    private static final long SWEEP_INTERVAL_TICKS = 200;
+
+    private final Map<BlockPos, CachedPlan> plans = new HashMap<>();
+    private ServerLevel level;
+    private long nextSweep;
+
+    private BreachPlanner() {
+        BlockChangeEvents.instance().subscribe(this::onBlockChanged);
+    }
+
+    public static BreachPlanner instance() {
+        return INSTANCE;
+    }
+
+    public BreachPlan plan(ServerLevel level, RaidTargetKnowledge target) {
+        if (level != this.level) {
+            plans.clear();
+            this.level = level;
+        }
+        long now = level.getGameTime();
+        if (now >= nextSweep) {
+            nextSweep = now + SWEEP_INTERVAL_TICKS;
+            plans.values().removeIf(cached -> now - cached.lastUsed > STALE_TICKS);
+        }
+        CachedPlan cached = plans.computeIfAbsent(target.position(), pos -> new CachedPlan(analyse(level, pos)));
+        cached.lastUsed = now;
+        return cached.plan;
+    }
+
+    public void clear() {
+        plans.clear();
+        level = null;
+    }
+
+    private void onBlockChanged(ServerLevel changed, BlockPos pos) {
+        if (changed != level || plans.isEmpty()) {
+            return;
+        }
+        Iterator<BlockPos> it = plans.keySet().iterator();
+        while (it.hasNext()) {
+            BlockPos target = it.next();
+            // One block of margin: a breach point's open face may sit just outside the scanned box.
+            if (Math.abs(pos.getX() - target.getX()) <= RADIUS + 1
+                && Math.abs(pos.getY() - target.getY()) <= HALF_HEIGHT + 1
+                && Math.abs(pos.getZ() - target.getZ()) <= RADIUS + 1) {
+                it.remove();
+            }
+        }
+    }
+
+    private static BreachPlan analyse(ServerLevel level, BlockPos target) {
+        boolean accessible = false;
+        for (Direction direction : Direction.values()) {
+            if (level.getBlockState(target.relative(direction)).isAir()) {
+                accessible = true;
+                break;
+            }
+        }
+
+        List<BreachPlan.BreachPoint> points = new ArrayList<>();
+        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+        for (int x = -RADIUS; x <= RADIUS; x++) {
+            for (int y = -HALF_HEIGHT; y <= HALF_HEIGHT; y++) {
+                for (int z = -RADIUS; z <= RADIUS; z++) {
+                    if (x == 0 && z == 0) {
+                        continue;
+                    }
+                    BlockPos pos = target.offset(x, y, z);
+                    if (!isWall(level, pos)) {
+                        continue;
+                    }
+                    if (!level.getBlockState(pos.relative(inwardStep(pos, target).getOpposite())).isAir()) {
+                        continue;
+                    }
+                    BreachPlan.BreachPoint point = measure(level, target, pos, cursor);
+                    if (point != null) {
+                        points.add(point);
+                    }
+                }
+            }
+        }
+
+        points.sort(Comparator.comparingDouble(BreachPlan.BreachPoint::cost));
+        if (points.size() > MAX_BREACH_POINTS) {
+            points = new ArrayList<>(points.subList(0, MAX_BREACH_POINTS));
+        }
+        return new BreachPlan(target.immutable(), accessible, List.copyOf(points));
+    }
+
+    /**
+     * Walks from the shell block towards the target until it reaches open space, then keeps walking to the target's
+     * column; {@code null} when the wall is unbreakable, thicker than {@link #MAX_THICKNESS}, or the space behind it
+     * runs into another solid block before the target, as it does behind a lone log or fence post outside the real
+     * wall.
+     */
+    private static BreachPlan.BreachPoint measure(ServerLevel level, BlockPos target, BlockPos shell,
+                                                  BlockPos.MutableBlockPos cursor) {
+        int thickness = 0;
+        float hardness = 0.0f;
+        float resistance = 0.0f;
+        cursor.set(shell);
+        while (thickness < MAX_THICKNESS && !reachedColumn(cursor, target)) {
+            BlockState state = level.getBlockState(cursor);
+            if (state.isAir()) {
+                break;
+            }
+            float destroyTime = state.getDestroySpeed(level, cursor);
+            if (destroyTime < 0.0f) {
+                return null;
+            }
+            thickness++;
+            hardness += destroyTime;
+            resistance += state.getBlock().getExplosionResistance();
+            cursor.move(inwardStep(cursor, target));
+        }
+        if (!reachedColumn(cursor, target)) {
+            if (!level.getBlockState(cursor).isAir()) {
+                return null;
+            }
+            while (!reachedColumn(cursor, target)) {
+                cursor.move(inwardStep(cursor, target));
+                if (!reachedColumn(cursor, target) && isWall(level, cursor)) {
+                    return null;
+                }
+            }
+        }
+        double cost = resistance + hardness + Math.sqrt(shell.distSqr(target)) * 0.25;
+        return new BreachPlan.BreachPoint(shell.immutable(), thickness, hardness, resistance, cost);
+    }
+
+    /**
+     * One face step from {@code pos} towards {@code target} along the horizontal axis with the larger remaining
+     * distance.
+     */
+    private static Direction inwardStep(BlockPos pos, BlockPos target) {
+        int dx = target.getX() - pos.getX();
+        int dz = target.getZ() - pos.getZ();
+        if (Math.abs(dx) >= Math.abs(dz) && dx != 0) {
+            return dx > 0 ? Direction.EAST : Direction.WEST;
+        }
+        return dz > 0 ? Direction.SOUTH : Direction.NORTH;
+    }
+
+    private static boolean reachedColumn(BlockPos pos, BlockPos target) {
+        return pos.getX() == target.getX() && pos.getZ() == target.getZ();
+    }
+
+    private static boolean isWall(ServerLevel level, BlockPos pos) {
+        BlockState state = level.getBlockState(pos);
+        return !state.isAir() && state.isSolid();
+    }
+
+    private static final class CachedPlan {
+        private final BreachPlan plan;
+        private long lastUsed;
+
+        private CachedPlan(BreachPlan plan) {
+            this.plan = plan;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.raimod.ai.memory;
+
+import com.raimod.ai.world.BlockChangeEvents;
+import com.raimod.ai.world.BlockQuery;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.tags.BlockTags;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.PressurePlateBlock;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.AABB;
+import net.neoforged.bus.api.IEventBus;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+
+/**
+ * Trap and window positions inside each claimed {@link SurvivorMemory.HomeBase}, shared by every survivor living
+ * there.
+ *
+ * <p>Claims are keyed by dimension, center and radius. A claim is scanned with {@link BlockQuery} the first time it is
+ * asked for, then kept current from {@link BlockChangeEvents} inside its box. A scan that found chunks of the box not
+ * loaded is repeated on the next request after one of them loads. Entities around the claim are fetched with one query
+ * per claim per check interval and filtered by each survivor's own relations. Claims nobody asked for in
+ * {@link #STALE_TICKS} are dropped. Server thread only.
+ */
+public final class HomeSecurityIndex {
+    private static final int TRAP_BELOW = 3;
+    private static final int TRAP_ABOVE = 3;
+    private static final int WINDOW_RADIUS = 10;
+    private static final int WINDOW_BELOW = 2;
+    private static final int WINDOW_ABOVE = 3;
+    private static final long STALE_TICKS = 1200;
+    private static final long SWEEP_INTERVAL_TICKS = 200;
+    private static final HomeSecurityIndex INSTANCE = new HomeSecurityIndex();
+
+    private final Map<ClaimKey, Claim> claims = new HashMap<>();
+    private final Map<ResourceKey<Level>, Map<Long, List<Claim>>> claimsByChunk = new HashMap<>();
+    private long nextSweep;
+
+    private HomeSecurityIndex() {
+        BlockChangeEvents.instance().subscribe(this::onBlockChanged);
+    }
+
+    public static HomeSecurityIndex instance() {
+        return INSTANCE;
+    }
+
+    public void register(IEventBus bus) {
+        bus.addListener(this::onChunkLoad);
+    }
+
+    /**
+     * Index for {@code base}, scanning it on first use and again once chunks missing from the last scan have loaded.
+     */
+    public Claim claim(ServerLevel level, SurvivorMemory.HomeBase base) {
+        long now = level.getGameTime();
+        if (now >= nextSweep) {
+            nextSweep = now + SWEEP_INTERVAL_TICKS;
+            evictStale(now);
+        }
+
+        ClaimKey key = new ClaimKey(level.dimension(), base.center().immutable(), base.claimRadius());
+        Claim claim = claims.get(key);
+        if (claim == null) {
+            claim = new Claim(key);
+            claim.scan(level);
+            claims.put(key, claim);
+            Map<Long, List<Claim>> chunks = claimsByChunk.computeIfAbsent(key.dimension(), k -> new HashMap<>());
+            Claim added = claim;
+            forEachChunk(key, chunk -> chunks.computeIfAbsent(chunk, k -> new ArrayList<>()).add(added));
+        } else if (claim.rescan) {
+            claim.scan(level);
+        }
+        claim.lastUsed = now;
+        return claim;
+    }
+
+    public void clear() {
+        claims.clear();
+        claimsByChunk.clear();
+    }
+
+    private static boolean isWindowLike(BlockState state) {
+        if (state.isAir()) {
+            return false;
+        }
+        Block block = state.getBlock();
+        return block == Blocks.GLASS || block == Blocks.GLASS_PANE || block == Blocks.TINTED_GLASS
+            || (!block.defaultBlockState().is(BlockTags.IMPERMEABLE) && !block.defaultBlockState().canOcclude());
+    }
+
+    private static boolean isSuspiciousTrap(BlockState state) {
+        return state.is(Blocks.TNT) || state.getBlock() instanceof PressurePlateBlock;
+    }
+
+    private void onBlockChanged(ServerLevel changed, BlockPos pos) {
+        List<Claim> affected = claimsIn(changed, ChunkPos.asLong(pos));
+        if (affected == null) {
+            return;
+        }
+        BlockState state = changed.getBlockState(pos);
+        for (Claim claim : affected) {
+            claim.update(pos, state);
+        }
+    }
+
+    private void onChunkLoad(ChunkEvent.Load event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) {
+            return;
+        }
+        List<Claim> affected = claimsIn(level, event.getChunk().getPos().toLong());
+        if (affected == null) {
+            return;
+        }
+        for (Claim claim : affected) {
+            if (claim.partial) {
+                claim.rescan = true;
+            }
+        }
+    }
+
+    private List<Claim> claimsIn(ServerLevel level, long chunk) {
+        Map<Long, List<Claim>> chunks = claimsByChunk.get(level.dimension());
+        return chunks == null ? null : chunks.get(chunk);
+    }
+
+    private void evictStale(long now) {
+        Iterator<Claim> it = claims.values().iterator();
+        while (it.hasNext()) {
+            Claim claim = it.next();
+            if (now - claim.lastUsed > STALE_TICKS) {
+                it.remove();
+                Map<Long, List<Claim>> chunks = claimsByChunk.get(claim.key.dimension());
+                forEachChunk(claim.key, chunk -> {
+                    List<Claim> inChunk = chunks.get(chunk);
+                    if (inChunk != null && inChunk.remove(claim) && inChunk.isEmpty()) {
+                        chunks.remove(chunk);
+                    }
+                });
+                if (chunks.isEmpty()) {
+                    claimsByChunk.remove(claim.key.dimension());
+                }
+            }
+        }
+    }
+
+    private static void forEachChunk(ClaimKey key, LongConsumer action) {
+        BlockPos center = key.center();
+        int radius = key.radius();
+        for (int cx = SectionPos.blockToSectionCoord(center.getX() - radius); cx <= SectionPos.blockToSectionCoord(center.getX() + radius); cx++) {
+            for (int cz = SectionPos.blockToSectionCoord(center.getZ() - radius); cz <= SectionPos.blockToSectionCoord(center.getZ() + radius); cz++) {
+                action.accept(ChunkPos.asLong(cx, cz));
+            }
+        }
+    }
+
+    private record ClaimKey(ResourceKey<Level> dimension, BlockPos center, int radius) {
+    }
+
+    public static final class Claim {
+        private final ClaimKey key;
+        private final List<BlockPos> traps = new ArrayList<>();
+        private final List<BlockPos> windows = new ArrayList<>();
+        private List<LivingEntity> entities = List.of();
+        private long entitiesUntil = Long.MIN_VALUE;
+        private long lastUsed;
+        private boolean partial;
+        private boolean rescan;
+
+        private Claim(ClaimKey key) {
+            this.key = key;
+        }
+
+        /**
+         * Traps in the claim, nearest to its center first.
+         */
+        public List<BlockPos> traps() {
+            return traps;
+        }
+
+        /**
+         * Window opening nearest the claim center, or {@code null}.
+         */
+        public BlockPos nearestWindow() {
+            return windows.isEmpty() ? null : windows.get(0);
+        }
+
+        /**
+         * Living entities around the claim, refreshed at most once per {@code intervalTicks}.
+         */
+        public List<LivingEntity> entities(ServerLevel level, long gameTime, int intervalTicks) {
+            if (gameTime >= entitiesUntil) {
+                entitiesUntil = gameTime + Math.max(1, intervalTicks);
+                entities = level.getEntitiesOfClass(LivingEntity.class, trapBox().inflate(4.0), LivingEntity::isAlive);
+            }
+            return entities;
+        }
+
+        private void scan(ServerLevel level) {
+            BlockPos center = key.center();
+            traps.clear();
+            windows.clear();
+            traps.addAll(BlockQuery.find(level, center, key.radius(), TRAP_BELOW, TRAP_ABOVE,
+                HomeSecurityIndex::isSuspiciousTrap, Integer.MAX_VALUE));
+            windows.addAll(BlockQuery.find(level, center, windowRadius(), WINDOW_BELOW, WINDOW_ABOVE,
+                HomeSecurityIndex::isWindowLike, Integer.MAX_VALUE));
+            partial = !allChunksLoaded(level);
+            rescan = false;
+        }
+
+        private void update(BlockPos pos, BlockState state) {
+            BlockPos center = key.center();
+            int dx = Math.abs(pos.getX() - center.getX());
+            int dz = Math.abs(pos.getZ() - center.getZ());
+            int dy = pos.getY() - center.getY();
+            if (dx <= key.radius() && dz <= key.radius() && dy >= -TRAP_BELOW && dy <= TRAP_ABOVE) {
+                replace(traps, pos, isSuspiciousTrap(state));
+            }
+            if (dx <= windowRadius() && dz <= windowRadius() && dy >= -WINDOW_BELOW && dy <= WINDOW_ABOVE) {
+                replace(windows, pos, isWindowLike(state));
+            }
+        }
+
+        private void replace(List<BlockPos> positions, BlockPos pos, boolean present) {
+            boolean known = positions.contains(pos);
+            if (present && !known) {
+                positions.add(pos.immutable());
+                positions.sort(Comparator.comparingDouble(p -> p.distSqr(key.center())));
+            } else if (!present && known) {
+                positions.remove(pos);
+            }
+        }
+
+        private boolean allChunksLoaded(ServerLevel level) {
+            BlockPos center = key.center();
+            int radius = key.radius();
+            for (int cx = SectionPos.blockToSectionCoord(center.getX() - radius); cx <= SectionPos.blockToSectionCoord(center.getX() + radius); cx++) {
+                for (int cz = SectionPos.blockToSectionCoord(center.getZ() - radius); cz <= SectionPos.blockToSectionCoord(center.getZ() + radius); cz++) {
+                    if (level.getChunkSource().getChunkNow(cx, cz) == null) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private int windowRadius() {
+            return Math.min(key.radius(), WINDOW_RADIUS);
+        }
+
+        private AABB trapBox() {
+            BlockPos center = key.center();
+            int radius = key.radius();
+            return new AABB(center.getX() - radius, center.getY() - TRAP_BELOW, center.getZ() - radius,
+                center.getX() + radius + 1, center.getY() + TRAP_ABOVE + 1, center.getZ() + radius + 1);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.raimod.ai.memory;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Persisted-state changes recorded by {@link SurvivorMemory} since the last time persistence drained them.
+ */
+public final class MemoryChanges {
+    private boolean full;
+    private boolean home;
+    private boolean chests;
+    private final Set<UUID> relations = new HashSet<>();
+    private final Set<String> raidTargets = new HashSet<>();
+    private final Set<String> worldPoints = new HashSet<>();
+
+    void markFull() {
+        full = true;
+    }
+
+    void markHome() {
+        home = true;
+    }
+
+    void markChests() {
+        chests = true;
+    }
+
+    void markRelation(UUID targetId) {
+        relations.add(targetId);
+    }
+
+    void markRaidTarget(String structureName) {
+        raidTargets.add(structureName.toLowerCase(Locale.ROOT));
+    }
+
+    void markWorldPoint(String key) {
+        worldPoints.add(key);
+    }
+
+    /**
+     * True when a bulk replace happened and only a full rewrite describes the change.
+     */
+    public boolean full() {
+        return full;
+    }
+
+    public boolean home() {
+        return home;
+    }
+
+    public boolean chests() {
+        return chests;
+    }
+
+    public Set<UUID> relations() {
+        return relations;
+    }
+
+    /**
+     * Lower-cased structure names of changed raid targets.
+     */
+    public Set<String> raidTargets() {
+        return raidTargets;
+    }
+
+    public Set<String> worldPoints() {
+        return worldPoints;
+    }
+
+    public boolean isEmpty() {
+        return !full && !home && !chests && relations.isEmpty() && raidTargets.isEmpty() && worldPoints.isEmpty();
+    }
+}
@@ -15,15 +15,13 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.tags.BlockTags;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
-import net.minecraft.world.level.block.PressurePlateBlock;
+import net.minecraft.world.phys.AABB;
 
 public final class SurvivorMemory {
     public static final int DEFAULT_HOME_CLAIM_RADIUS = 24;
@@ -42,6 +40,8 @@ public final class SurvivorMemory {
     private HomeBase homeBase;
     private long nextWindowCheckTick;
     private long nextTrapCheckTick;
+    private long version;
+    private MemoryChanges changes;
 
     private SurvivorMemory(UUID survivorId) {
         this.survivorId = survivorId;
@@ -58,6 +58,7 @@ public final class SurvivorMemory {
         this.homeBase = null;
         this.nextWindowCheckTick = 0;
         this.nextTrapCheckTick = 0;
+        this.changes = new MemoryChanges();
     }
 
     public static SurvivorMemory createEmpty(UUID survivorId) {
@@ -68,6 +69,26 @@ public final class SurvivorMemory {
         return survivorId;
     }
 
+    /**
+     * Monotonic counter bumped by every mutation of persisted state; {@link #drainChanges()} describes what changed.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Returns the changes recorded since the previous call and starts a fresh change set.
+     */
+    public MemoryChanges drainChanges() {
+        MemoryChanges drained = changes;
+        changes = new MemoryChanges();
+        return drained;
+    }
+
+    private void markDirty() {
+        version++;
+    }
+
     public RaidTargetKnowledge bestRaidCandidate() {
         return raidTargets.stream().max(Comparator.comparingInt(RaidTargetKnowledge::knownChestCount)).orElse(null);
     }
@@ -75,6 +96,8 @@ public final class SurvivorMemory {
     public void rememberRaidTarget(RaidTargetKnowledge knowledge) {
         raidTargets.removeIf(existing -> existing.structureName().equalsIgnoreCase(knowledge.structureName()));
         raidTargets.add(knowledge);
+        changes.markRaidTarget(knowledge.structureName());
+        markDirty();
     }
 
     public List<RaidTargetKnowledge> raidTargets() {
@@ -84,6 +107,8 @@ public final class SurvivorMemory {
     public void rememberWorldPoint(WorldKnowledgePoint point) {
         worldPoints.removeIf(existing -> existing.key().equals(point.key()));
         worldPoints.add(point);
+        changes.markWorldPoint(point.key());
+        markDirty();
     }
 
     public List<WorldKnowledgePoint> worldPoints() {
@@ -93,11 +118,15 @@ public final class SurvivorMemory {
     public void replaceWorldPoints(List<WorldKnowledgePoint> points) {
         worldPoints.clear();
         worldPoints.addAll(points);
+        changes.markFull();
+        markDirty();
     }
 
     public void replaceRaidTargets(List<RaidTargetKnowledge> targets) {
         raidTargets.clear();
         raidTargets.addAll(targets);
+        changes.markFull();
+        markDirty();
     }
 
     public CombatLog combatLog() {
@@ -118,6 +147,8 @@ public final class SurvivorMemory {
 
     public void setHomePosition(BlockPos homePosition) {
         this.homePosition = homePosition.immutable();
+        changes.markHome();
+        markDirty();
     }
 
     public HomeBase homeBase() {
@@ -132,6 +163,8 @@ public final class SurvivorMemory {
         List<BlockPos> normalizedContainers = containerPos.stream().map(BlockPos::immutable).toList();
         this.homeBase = new HomeBase(center.immutable(), Math.max(8, claimRadius), normalizedContainers);
         this.homePosition = center.immutable();
+        changes.markHome();
+        markDirty();
     }
 
     public void maybeClaimHomeBase(BlockPos bedPos, BlockPos containerPos, int claimRadius) {
@@ -193,27 +226,7 @@ public final class SurvivorMemory {
             return null;
         }
 
-        BlockPos center = homeBase.center();
-        int radius = Math.min(homeBase.claimRadius(), 10);
-        BlockPos best = null;
-        double bestDistance = Double.MAX_VALUE;
-
-        for (int x = -radius; x <= radius; x++) {
-            for (int y = -2; y <= 3; y++) {
-                for (int z = -radius; z <= radius; z++) {
-                    BlockPos pos = center.offset(x, y, z);
-                    if (!isWindowLike(level.getBlockState(pos).getBlock())) {
-                        continue;
-                    }
-                    double d = center.distSqr(pos);
-                    if (d < bestDistance) {
-                        bestDistance = d;
-                        best = pos.immutable();
-                    }
-                }
-            }
-        }
-
+        BlockPos best = HomeSecurityIndex.instance().claim(level, homeBase).nearestWindow();
         nextWindowCheckTick = gameTime + Math.max(20, intervalTicks);
         return best;
     }
@@ -223,39 +236,25 @@ public final class SurvivorMemory {
             return null;
         }
 
-        int radius = homeBase.claimRadius();
-        BlockPos center = homeBase.center();
         nextTrapCheckTick = gameTime + Math.max(20, intervalTicks);
 
-        for (int x = -radius; x <= radius; x++) {
-            for (int y = -3; y <= 3; y++) {
-                for (int z = -radius; z <= radius; z++) {
-                    BlockPos pos = center.offset(x, y, z);
-                    Block block = level.getBlockState(pos).getBlock();
-                    if (!isSuspiciousTrap(block)) {
-                        continue;
-                    }
-                    boolean nonAllyNearby = level.getEntitiesOfClass(LivingEntity.class,
-                        new net.minecraft.world.phys.AABB(pos).inflate(4.0),
-                        e -> e.isAlive() && !e.getUUID().equals(survivor.id()) && relationOf(e.getUUID()) <= 0.0f).size() > 0;
-                    if (nonAllyNearby) {
-                        return new TrapAlert(pos.immutable(), block == Blocks.TNT ? "tnt" : "pressure_plate");
-                    }
+        HomeSecurityIndex.Claim claim = HomeSecurityIndex.instance().claim(level, homeBase);
+        if (claim.traps().isEmpty()) {
+            return null;
+        }
+        List<LivingEntity> nearby = claim.entities(level, gameTime, Math.max(20, intervalTicks));
+        for (BlockPos pos : claim.traps()) {
+            AABB danger = new AABB(pos).inflate(4.0);
+            for (LivingEntity entity : nearby) {
+                if (entity.isAlive() && !entity.getUUID().equals(survivor.id()) && relationOf(entity.getUUID()) <= 0.0f
+                    && entity.getBoundingBox().intersects(danger)) {
+                    return new TrapAlert(pos, level.getBlockState(pos).is(Blocks.TNT) ? "tnt" : "pressure_plate");
                 }
             }
         }
         return null;
     }
 
-    private boolean isWindowLike(Block block) {
-        return block == Blocks.GLASS || block == Blocks.GLASS_PANE || block == Blocks.TINTED_GLASS
-            || (!block.defaultBlockState().is(BlockTags.IMPERMEABLE) && !block.defaultBlockState().canOcclude());
-    }
-
-    private boolean isSuspiciousTrap(Block block) {
-        return block == Blocks.TNT || block instanceof PressurePlateBlock;
-    }
-
     public List<BlockPos> dangerousBlocks() {
         return List.copyOf(dangerousBlocks);
     }
@@ -272,6 +271,8 @@ public final class SurvivorMemory {
     public void setKnownChests(List<BlockPos> chests) {
         knownChests.clear();
         knownChests.addAll(chests);
+        changes.markChests();
+        markDirty();
     }
 
     public void rememberHomeContainer(BlockPos containerPos) {
@@ -368,7 +369,7 @@ public final class SurvivorMemory {
         return survivor.dropSlotWithLatency(weakestSlot);
     }
 
-    private int lootScore(ItemStack stack) {
+    static int lootScore(ItemStack stack) {
         if (stack == null || stack.isEmpty()) {
             return 0;
         }
@@ -406,11 +407,15 @@ public final class SurvivorMemory {
 
     public void setRelation(UUID targetId, float value) {
         relations.put(targetId, Mth.clamp(value, -1.0f, 1.0f));
+        changes.markRelation(targetId);
+        markDirty();
     }
 
     public void adjustRelation(UUID targetId, float delta) {
         float next = relationOf(targetId) + delta;
         relations.put(targetId, Mth.clamp(next, -1.0f, 1.0f));
+        changes.markRelation(targetId);
+        markDirty();
     }
 
     public void onAllySavedMe(UUID allyId) {
@@ -424,16 +429,26 @@ public final class SurvivorMemory {
     public void replaceRelations(Map<UUID, Float> relationValues) {
         relations.clear();
         relationValues.forEach(this::setRelation);
+        changes.markFull();
+        markDirty();
     }
 
     public void refreshStaleKnowledge(MinecraftServer server, int revalidationSeconds) {
-        long now = server.overworld().getGameTime();
+        refreshStaleKnowledge(server.overworld().getGameTime(), revalidationSeconds);
+    }
+
+    /**
+     * Flags world points not verified within {@code revalidationSeconds} of game time {@code now}.
+     */
+    public void refreshStaleKnowledge(long now, int revalidationSeconds) {
         long staleAt = revalidationSeconds * 20L;
 
         for (int i = 0; i < worldPoints.size(); i++) {
             WorldKnowledgePoint point = worldPoints.get(i);
-            if (now - point.lastVerifiedTick() > staleAt) {
+            if (!point.needsRevalidation() && now - point.lastVerifiedTick() > staleAt) {
                 worldPoints.set(i, point.withNeedsRevalidation(true));
+                changes.markWorldPoint(point.key());
+                markDirty();
             }
         }
     }
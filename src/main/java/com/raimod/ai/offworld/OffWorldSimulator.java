@@ -0,0 +1,215 @@
+package com.raimod.ai.offworld;
+
+import com.raimod.ai.GroupManager;
+import com.raimod.ai.memory.RaidTargetKnowledge;
+import com.raimod.ai.memory.SurvivorMemory;
+import com.raimod.ai.memory.WorldKnowledgePoint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.Mth;
+import net.minecraft.util.RandomSource;
+
+/**
+ * Lightweight simulator for survivors that are out of every player's range.
+ *
+ * <p>Survivors here own no chunk tickets and are not entity-ticked. Every {@link #STEP_TICKS} ticks each one walks a
+ * coarse leg of its route between remembered {@link WorldKnowledgePoint}s, and raids and bot-vs-bot fights are
+ * resolved statistically from {@link RaidTargetKnowledge#expectedRaidCost()} and the summary inventory.
+ */
+public final class OffWorldSimulator {
+    public static final int STEP_TICKS = 20;
+
+    private static final double BLOCKS_PER_STEP = 4.3 * STEP_TICKS / 20.0;
+    private static final double ARRIVAL_DISTANCE = 8.0;
+    private static final double ENGAGEMENT_DISTANCE = 24.0;
+    private static final double ENGAGEMENT_CHANCE = 0.25;
+    private static final int AMMO_UPKEEP_INTERVAL_STEPS = 60;
+
+    private final Map<UUID, OffWorldSurvivor> survivors = new LinkedHashMap<>();
+    private final RandomSource random = RandomSource.create();
+    private long stepCounter;
+
+    public void add(OffWorldSurvivor survivor) {
+        survivors.put(survivor.id(), survivor);
+    }
+
+    public OffWorldSurvivor remove(UUID id) {
+        return survivors.remove(id);
+    }
+
+    public void clear() {
+        survivors.clear();
+    }
+
+    public boolean contains(UUID id) {
+        return survivors.containsKey(id);
+    }
+
+    public int size() {
+        return survivors.size();
+    }
+
+    public Collection<OffWorldSurvivor> survivors() {
+        return survivors.values();
+    }
+
+    public void tick(long gameTime) {
+        if (gameTime % STEP_TICKS != 0 || survivors.isEmpty()) {
+            return;
+        }
+        stepCounter++;
+
+        List<OffWorldSurvivor> all = new ArrayList<>(survivors.values());
+        for (OffWorldSurvivor survivor : all) {
+            advanceRoute(survivor);
+            if (stepCounter % AMMO_UPKEEP_INTERVAL_STEPS == 0) {
+                survivor.drainAmmo(1);
+            }
+        }
+        resolveEncounters(all);
+    }
+
+    private void advanceRoute(OffWorldSurvivor survivor) {
+        if (survivor.waypoint() == null) {
+            chooseWaypoint(survivor);
+        }
+
+        BlockPos waypoint = survivor.waypoint();
+        double dx = waypoint.getX() + 0.5 - survivor.x();
+        double dz = waypoint.getZ() + 0.5 - survivor.z();
+        double distance = Math.sqrt(dx * dx + dz * dz);
+
+        if (distance <= ARRIVAL_DISTANCE) {
+            arrive(survivor);
+            return;
+        }
+
+        double step = Math.min(distance, BLOCKS_PER_STEP);
+        survivor.moveTo(survivor.x() + dx / distance * step, waypoint.getY(), survivor.z() + dz / distance * step);
+    }
+
+    private void chooseWaypoint(OffWorldSurvivor survivor) {
+        SurvivorMemory memory = survivor.memory();
+
+        RaidTargetKnowledge raid = memory.bestRaidCandidate();
+        if (raid != null && raid.knownChestCount() > 0 && survivor.health() > 10.0f
+            && raid.estimatedLootValue() - raid.expectedRaidCost() > 0.0) {
+            survivor.setWaypoint(raid.position(), raid.structureName());
+            return;
+        }
+
+        List<WorldKnowledgePoint> points = memory.worldPoints();
+        List<WorldKnowledgePoint> candidates = new ArrayList<>();
+        for (WorldKnowledgePoint point : points) {
+            if (!point.needsRevalidation() && point.danger() < 0.75f) {
+                candidates.add(point);
+            }
+        }
+
+        if (candidates.isEmpty() || survivor.health() < 8.0f) {
+            survivor.setWaypoint(memory.homePosition(), null);
+            return;
+        }
+        survivor.setWaypoint(candidates.get(random.nextInt(candidates.size())).pos(), null);
+    }
+
+    private void arrive(OffWorldSurvivor survivor) {
+        String raidName = survivor.raidTargetName();
+        if (raidName != null) {
+            for (RaidTargetKnowledge target : survivor.memory().raidTargets()) {
+                if (target.structureName().equalsIgnoreCase(raidName)) {
+                    resolveRaid(survivor, target);
+                    break;
+                }
+            }
+        }
+        survivor.setWaypoint(null, null);
+    }
+
+    private void resolveRaid(OffWorldSurvivor survivor, RaidTargetKnowledge target) {
+        double cost = Math.max(1.0, target.expectedRaidCost());
+        double defenders = target.defenderCount() * 25.0;
+        double readiness = survivor.health() / 20.0 * (survivor.ammo() > 0 ? 1.0 : 0.5);
+        double successChance = Mth.clamp(target.estimatedLootValue() / (target.estimatedLootValue() + cost + defenders) * readiness,
+            0.05, 0.95);
+
+        survivor.drainAmmo((int) Math.ceil(cost / 10.0));
+        if (random.nextDouble() < successChance) {
+            survivor.gainLoot(target.estimatedLootValue());
+            survivor.memory().rememberRaidTarget(new RaidTargetKnowledge(
+                target.structureName(),
+                target.position(),
+                0,
+                target.defenderCount(),
+                0.0,
+                target.expectedRaidCost(),
+                target.wallHardness(),
+                true
+            ));
+            survivor.memory().combatLog().append("Off-world raid on " + target.structureName() + " succeeded");
+        } else {
+            survivor.setHealth(survivor.health() - (float) Mth.clamp(cost / 10.0, 2.0, 18.0));
+            if (survivor.medical() > 0) {
+                survivor.drainMedical(1);
+                survivor.setHealth(survivor.health() + 6.0f);
+            }
+            survivor.memory().combatLog().append("Off-world raid on " + target.structureName() + " failed");
+        }
+    }
+
+    private void resolveEncounters(List<OffWorldSurvivor> all) {
+        GroupManager squads = GroupManager.instance();
+        double maxDistSqr = ENGAGEMENT_DISTANCE * ENGAGEMENT_DISTANCE;
+
+        for (int i = 0; i < all.size(); i++) {
+            OffWorldSurvivor a = all.get(i);
+            for (int j = i + 1; j < all.size(); j++) {
+                OffWorldSurvivor b = all.get(j);
+                double dx = a.x() - b.x();
+                double dz = a.z() - b.z();
+                if (dx * dx + dz * dz > maxDistSqr || !squads.areHostile(a.id(), b.id())) {
+                    continue;
+                }
+                if (random.nextDouble() >= ENGAGEMENT_CHANCE) {
+                    continue;
+                }
+                resolveFight(a, b);
+            }
+        }
+    }
+
+    private void resolveFight(OffWorldSurvivor a, OffWorldSurvivor b) {
+        double strengthA = strength(a);
+        double strengthB = strength(b);
+        boolean aWins = random.nextDouble() < strengthA / (strengthA + strengthB);
+        OffWorldSurvivor winner = aWins ? a : b;
+        OffWorldSurvivor loser = aWins ? b : a;
+
+        winner.drainAmmo(4 + random.nextInt(8));
+        loser.drainAmmo(4 + random.nextInt(8));
+        winner.setHealth(winner.health() - random.nextInt(6));
+        loser.setHealth(loser.health() - (8 + random.nextInt(9)));
+        loser.memory().adjustRelation(winner.id(), -0.2f);
+
+        if (loser.health() <= 0.0f) {
+            GroupManager.instance().reportKill(winner.id(), loser.id());
+            winner.gainLoot(loser.loseLoot(0.5));
+            BlockPos home = loser.memory().homePosition();
+            loser.moveTo(home.getX() + 0.5, home.getY(), home.getZ() + 0.5);
+            loser.setWaypoint(null, null);
+            loser.setHealth(20.0f);
+            loser.drainAmmo(loser.ammo());
+            loser.drainMedical(loser.medical());
+            loser.memory().combatLog().append("Killed off-world by " + winner.id());
+        }
+    }
+
+    private double strength(OffWorldSurvivor survivor) {
+        return Math.max(1.0f, survivor.health()) * (1.0 + Math.min(survivor.ammo(), 60) / 30.0);
+    }
+}
@@ -0,0 +1,206 @@
+package com.raimod.ai.offworld;
+
+import com.raimod.ai.memory.SurvivorMemory;
+import com.raimod.entity.SimulatedSurvivor;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+/**
+ * Abstract stand-in for a survivor that has left the world.
+ *
+ * <p>Position is tracked coarsely and inventory only as summary counters; the differences are settled on the
+ * retained entity when the survivor is re-materialized, with loot value paid out as valuables.
+ */
+public final class OffWorldSurvivor {
+    /**
+     * Valuables loot value is paid out in, most valuable first, with the loot value of one item.
+     */
+    private static final Item[] LOOT_ITEMS = {Items.DIAMOND, Items.GOLD_INGOT, Items.IRON_INGOT};
+    private static final double[] LOOT_ITEM_VALUES = {100.0, 25.0, 10.0};
+
+    private final UUID id;
+    private final SurvivorMemory memory;
+    private SimulatedSurvivor body;
+
+    private double x;
+    private double y;
+    private double z;
+    private BlockPos waypoint;
+    private String raidTargetName;
+
+    private float health;
+    private int ammo;
+    private int medical;
+    private int capturedAmmo;
+    private int capturedMedical;
+    private double lootGained;
+
+    private OffWorldSurvivor(UUID id, SurvivorMemory memory, SimulatedSurvivor body, double x, double y, double z,
+                             float health, int ammo, int medical) {
+        this.id = id;
+        this.memory = memory;
+        this.body = body;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.health = health;
+        this.ammo = ammo;
+        this.medical = medical;
+        this.capturedAmmo = ammo;
+        this.capturedMedical = medical;
+    }
+
+    public static OffWorldSurvivor capture(SimulatedSurvivor survivor) {
+        return new OffWorldSurvivor(
+            survivor.id(),
+            survivor.memory(),
+            survivor,
+            survivor.getX(),
+            survivor.getY(),
+            survivor.getZ(),
+            survivor.getHealth(),
+            survivor.countItems("ammo"),
+            survivor.countItems("med")
+        );
+    }
+
+    /**
+     * Creates an abstract survivor with no entity yet, placed at {@code start}.
+     */
+    public static OffWorldSurvivor fromMemory(SurvivorMemory memory, BlockPos start) {
+        return new OffWorldSurvivor(memory.survivorId(), memory, null, start.getX() + 0.5, start.getY(), start.getZ() + 0.5,
+            20.0f, 0, 0);
+    }
+
+    public UUID id() {
+        return id;
+    }
+
+    public SurvivorMemory memory() {
+        return memory;
+    }
+
+    public SimulatedSurvivor body() {
+        return body;
+    }
+
+    public double x() {
+        return x;
+    }
+
+    public double y() {
+        return y;
+    }
+
+    public double z() {
+        return z;
+    }
+
+    public BlockPos blockPosition() {
+        return BlockPos.containing(x, y, z);
+    }
+
+    void moveTo(double nx, double ny, double nz) {
+        this.x = nx;
+        this.y = ny;
+        this.z = nz;
+    }
+
+    BlockPos waypoint() {
+        return waypoint;
+    }
+
+    void setWaypoint(BlockPos waypoint, String raidTargetName) {
+        this.waypoint = waypoint;
+        this.raidTargetName = raidTargetName;
+    }
+
+    String raidTargetName() {
+        return raidTargetName;
+    }
+
+    public float health() {
+        return health;
+    }
+
+    void setHealth(float health) {
+        this.health = Math.max(0.0f, Math.min(20.0f, health));
+    }
+
+    int ammo() {
+        return ammo;
+    }
+
+    void drainAmmo(int rounds) {
+        ammo = Math.max(0, ammo - rounds);
+    }
+
+    int medical() {
+        return medical;
+    }
+
+    void drainMedical(int count) {
+        medical = Math.max(0, medical - count);
+    }
+
+    void gainLoot(double value) {
+        lootGained += value;
+    }
+
+    double loseLoot(double fraction) {
+        double lost = lootGained * fraction;
+        lootGained -= lost;
+        return lost;
+    }
+
+    /**
+     * Applies the summarized off-world outcome to the entity that will re-enter the world.
+     */
+    public void settle(SimulatedSurvivor entity) {
+        this.body = entity;
+        entity.setHealth(Math.max(1.0f, health));
+        if (capturedAmmo > ammo) {
+            entity.consumeItems("ammo", capturedAmmo - ammo);
+        }
+        if (capturedMedical > medical) {
+            entity.consumeItems("med", capturedMedical - medical);
+        }
+        if (lootGained > 0.0) {
+            int stored = storeLoot(entity, lootGained);
+            memory.combatLog().append("Returned from off-world run with loot worth " + Math.round(lootGained)
+                + " (" + stored + " items carried back)");
+        }
+        capturedAmmo = ammo;
+        capturedMedical = medical;
+        lootGained = 0.0;
+    }
+
+    /**
+     * Converts {@code value} into {@link #LOOT_ITEMS} greedily and adds them to the entity's inventory; whatever does
+     * not fit is left behind.
+     *
+     * @return how many items were stored
+     */
+    private static int storeLoot(SimulatedSurvivor entity, double value) {
+        int stored = 0;
+        double remaining = value;
+        for (int i = 0; i < LOOT_ITEMS.length; i++) {
+            int count = (int) (remaining / LOOT_ITEM_VALUES[i]);
+            remaining -= count * LOOT_ITEM_VALUES[i];
+            while (count > 0) {
+                ItemStack stack = new ItemStack(LOOT_ITEMS[i], Math.min(count, LOOT_ITEMS[i].getDefaultMaxStackSize()));
+                int offered = stack.getCount();
+                entity.getInventory().add(stack);
+                stored += offered - stack.getCount();
+                if (!stack.isEmpty()) {
+                    return stored;
+                }
+                count -= offered;
+            }
+        }
+        return stored;
+    }
+}
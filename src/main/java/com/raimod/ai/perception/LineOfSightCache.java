@@ -0,0 +1,105 @@
+package com.raimod.ai.perception;
+
+import com.raimod.ai.raycast.SectionRay;
+import com.raimod.ai.world.BlockChangeEvents;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ClipContext;
+import net.minecraft.world.phys.HitResult;
+import net.minecraft.world.phys.Vec3;
+import net.minecraft.world.phys.shapes.CollisionContext;
+
+/**
+ * Short-lived cache of eye-to-eye line-of-sight results.
+ *
+ * <p>Rays are keyed by both endpoints quantized to a quarter block and stored unordered, so A looking at B and B
+ * looking at A share one entry. A ray is clear when neither the collision nor the visual shape of any block blocks it.
+ * Every entry is indexed under the chunk sections it crosses and dropped when a block changes in one of them; the
+ * whole cache is also discarded every {@link #TTL_TICKS} so moved entities and missed changes never linger.
+ * Server thread only.
+ */
+public final class LineOfSightCache {
+    public static final int TTL_TICKS = 10;
+    private static final LineOfSightCache INSTANCE = new LineOfSightCache();
+    private static final double QUANTUM = 4.0;
+
+    private final Map<RayKey, Boolean> results = new HashMap<>();
+    private final Map<Long, List<RayKey>> raysBySection = new HashMap<>();
+    private ServerLevel level;
+    private long windowStart = Long.MIN_VALUE;
+
+    private LineOfSightCache() {
+        BlockChangeEvents.instance().subscribe(this::onBlockChanged);
+    }
+
+    public static LineOfSightCache instance() {
+        return INSTANCE;
+    }
+
+    public boolean hasLineOfSight(ServerLevel level, Vec3 from, Vec3 to) {
+        long now = level.getGameTime();
+        if (level != this.level || now - windowStart >= TTL_TICKS || now < windowStart) {
+            clear();
+            this.level = level;
+            windowStart = now;
+        }
+
+        long a = quantize(from);
+        long b = quantize(to);
+        RayKey key = a <= b ? new RayKey(a, b) : new RayKey(b, a);
+        Boolean cached = results.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        boolean clear = isClear(level, from, to, ClipContext.Block.COLLIDER) && isClear(level, from, to, ClipContext.Block.VISUAL);
+        results.put(key, clear);
+        indexSections(key, from, to);
+        return clear;
+    }
+
+    public void clear() {
+        results.clear();
+        raysBySection.clear();
+    }
+
+    private void onBlockChanged(ServerLevel changed, BlockPos pos) {
+        if (changed != level || results.isEmpty()) {
+            return;
+        }
+        List<RayKey> rays = raysBySection.remove(SectionPos.asLong(pos));
+        if (rays != null) {
+            for (RayKey ray : rays) {
+                results.remove(ray);
+            }
+        }
+    }
+
+    private void indexSections(RayKey key, Vec3 from, Vec3 to) {
+        SectionRay.walk(from, to, section -> raysBySection.computeIfAbsent(section, k -> new ArrayList<>()).add(key));
+    }
+
+    private static boolean isClear(ServerLevel level, Vec3 from, Vec3 to, ClipContext.Block shape) {
+        HitResult hit = level.clip(new ClipContext(from, to, shape, ClipContext.Fluid.NONE, CollisionContext.empty()));
+        return hit.getType() == HitResult.Type.MISS;
+    }
+
+    /**
+     * Packs a point at quarter-block resolution: 26 bits of x, 12 of y and 26 of z, which covers +/-8M blocks
+     * horizontally and the full build height.
+     */
+    private static long quantize(Vec3 point) {
+        long qx = Math.round(point.x * QUANTUM) & 0x3FFFFFFL;
+        long qy = Math.round(point.y * QUANTUM) & 0xFFFL;
+        long qz = Math.round(point.z * QUANTUM) & 0x3FFFFFFL;
+        return qx << 38 | qy << 26 | qz;
+    }
+
+    private record RayKey(long a, long b) {
+    }
+}
@@ -0,0 +1,234 @@
+package com.raimod.ai.perception;
+
+import com.raimod.ai.spatial.SpatialIndex;
+import com.raimod.entity.SimulatedSurvivor;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.player.Player;
+
+/**
+ * What one survivor sensed this tick: living entities and other survivors around it, and players within
+ * chat/observation range.
+ *
+ * <p>Built by a single pass the first time it is asked for in a game tick and shared by perception, squad logic and
+ * every goal. Distance, hostility and facing are filled eagerly; visibility needs ray casts and is resolved on first
+ * use and then remembered for the rest of the tick. Contact objects are pooled and filled from primitive
+ * coordinates, so a rebuild allocates only the level's entity lookup and its result list. Pool entries left unused by
+ * a rebuild drop their entity so despawned mobs are not kept reachable.
+ */
+public final class SensorBlackboard {
+    /**
+     * Entity radius every consumer can rely on; the pass uses the larger of this and the configured hearing and claim
+     * radii.
+     */
+    public static final double ENTITY_RANGE = 48.0;
+    public static final double PLAYER_RANGE = 140.0;
+    private static final double FACING_DOT = 0.75;
+
+    private final SimulatedSurvivor owner;
+    private final List<Contact> pool = new ArrayList<>();
+    private final List<Contact> players = new ArrayList<>();
+    private final List<Contact> view = new ContactView();
+    private LivingEntity[] scratch = new LivingEntity[32];
+    private int size;
+    private long stamp = Long.MIN_VALUE;
+
+    public SensorBlackboard(SimulatedSurvivor owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Rebuilds the snapshot unless it was already taken at {@code gameTime}.
+     */
+    public void refresh(long gameTime, double radius) {
+        if (stamp == gameTime) {
+            return;
+        }
+        stamp = gameTime;
+        int previousSize = size;
+        size = 0;
+        players.clear();
+
+        double range = Math.max(ENTITY_RANGE, radius);
+        double rangeSqr = range * range;
+        for (LivingEntity entity : owner.level().getEntitiesOfClass(LivingEntity.class,
+            owner.getBoundingBox().inflate(range), entity -> entity.isAlive() && !(entity instanceof Player))) {
+            next().fill(entity, owner.isHostile(entity));
+        }
+
+        // Survivors are not in the level and players are cheaper to take from the grid than from an entity scan.
+        SpatialIndex index = SpatialIndex.instance();
+        double gridRange = Math.max(range, PLAYER_RANGE);
+        int found = index.queryRadius(owner.getX(), owner.getY(), owner.getZ(), gridRange, SpatialIndex.ALL, scratch);
+        if (found > scratch.length) {
+            scratch = new LivingEntity[Integer.highestOneBit(found) << 1];
+            found = index.queryRadius(owner.getX(), owner.getY(), owner.getZ(), gridRange, SpatialIndex.ALL, scratch);
+        }
+        for (int i = 0; i < found; i++) {
+            LivingEntity entity = scratch[i];
+            scratch[i] = null;
+            if (entity == owner || !entity.isAlive()) {
+                continue;
+            }
+            if (entity instanceof SimulatedSurvivor) {
+                if (entity.distanceToSqr(owner) <= rangeSqr) {
+                    next().fill(entity, owner.isHostile(entity));
+                }
+                continue;
+            }
+            Contact contact = next();
+            contact.fill(entity, owner.isHostile(entity));
+            players.add(contact);
+        }
+
+        for (int i = size; i < previousSize; i++) {
+            pool.get(i).entity = null;
+        }
+    }
+
+    /**
+     * Every living entity sensed this tick, in no particular order; includes the {@link #players()}, which may lie
+     * beyond the entity radius, so callers filter by distance. Valid until the next rebuild.
+     */
+    public List<Contact> contacts() {
+        return view;
+    }
+
+    /**
+     * Players within {@link #PLAYER_RANGE}.
+     */
+    public List<Contact> players() {
+        return players;
+    }
+
+    public Contact nearestPlayer(double range) {
+        Contact nearest = null;
+        double best = range * range;
+        for (Contact contact : players) {
+            if (contact.distanceSqr <= best) {
+                best = contact.distanceSqr;
+                nearest = contact;
+            }
+        }
+        return nearest;
+    }
+
+    public boolean hasVisibleHostile(double range) {
+        double rangeSqr = range * range;
+        for (int i = 0; i < size; i++) {
+            Contact contact = pool.get(i);
+            if (contact.hostile && contact.distanceSqr <= rangeSqr && contact.visible()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Contact next() {
+        if (size == pool.size()) {
+            pool.add(new Contact(owner));
+        }
+        return pool.get(size++);
+    }
+
+    public static final class Contact {
+        private static final byte UNKNOWN = 0;
+        private static final byte VISIBLE = 1;
+        private static final byte HIDDEN = 2;
+
+        private final SimulatedSurvivor owner;
+        private LivingEntity entity;
+        private double distanceSqr;
+        private boolean hostile;
+        private boolean facingMe;
+        private boolean armed;
+        private byte visibility;
+
+        private Contact(SimulatedSurvivor owner) {
+            this.owner = owner;
+        }
+
+        private void fill(LivingEntity entity, boolean hostile) {
+            this.entity = entity;
+            this.distanceSqr = entity.distanceToSqr(owner);
+            this.hostile = hostile;
+            this.facingMe = isFacing(entity, owner);
+            this.armed = !entity.getMainHandItem().isEmpty() && !entity.getMainHandItem().isEdible();
+            this.visibility = UNKNOWN;
+        }
+
+        /**
+         * Whether {@code entity}'s view vector is within {@link #FACING_DOT} of the direction to {@code owner}'s eyes;
+         * the same math as {@code getLookAngle()} for a living entity (head yaw), without the vector allocations.
+         */
+        private static boolean isFacing(LivingEntity entity, SimulatedSurvivor owner) {
+            double dx = owner.getX() - entity.getX();
+            double dy = owner.getEyeY() - entity.getEyeY();
+            double dz = owner.getZ() - entity.getZ();
+            double lengthSqr = dx * dx + dy * dy + dz * dz;
+            if (lengthSqr < 1.0E-8) {
+                return false;
+            }
+            float pitch = entity.getXRot() * Mth.DEG_TO_RAD;
+            float yaw = -entity.getYHeadRot() * Mth.DEG_TO_RAD;
+            float horizontal = Mth.cos(pitch);
+            double dot = Mth.sin(yaw) * horizontal * dx - Mth.sin(pitch) * dy + Mth.cos(yaw) * horizontal * dz;
+            return dot > FACING_DOT * Math.sqrt(lengthSqr);
+        }
+
+        public LivingEntity entity() {
+            return entity;
+        }
+
+        public double distanceSqr() {
+            return distanceSqr;
+        }
+
+        public double distance() {
+            return Math.sqrt(distanceSqr);
+        }
+
+        public boolean hostile() {
+            return hostile;
+        }
+
+        /**
+         * True when the entity is looking roughly at the survivor.
+         */
+        public boolean facingMe() {
+            return facingMe;
+        }
+
+        public boolean armed() {
+            return armed;
+        }
+
+        /**
+         * {@link SimulatedSurvivor#isEntityVisible} for this entity, evaluated at most once per tick.
+         */
+        public boolean visible() {
+            if (visibility == UNKNOWN) {
+                visibility = owner.isEntityVisible(entity) ? VISIBLE : HIDDEN;
+            }
+            return visibility == VISIBLE;
+        }
+    }
+
+    private final class ContactView extends AbstractList<Contact> {
+        @Override
+        public Contact get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return pool.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.raimod.ai.perf;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Low-overhead timing for the survivor hot path.
+ *
+ * <p>Call sites hold a {@link Section} and bracket work with {@link #begin()} / {@link Section#end(long)}. While the
+ * profiler is disabled {@code begin} returns 0 and {@code end} returns immediately, so the instrumentation costs a
+ * volatile read. Samples land in striped counters and a log2 histogram; each section keeps the current and previous
+ * window so percentiles cover between one and two {@link #WINDOW_TICKS} periods.
+ */
+public final class PerfProfiler {
+    public static final int WINDOW_TICKS = 1200;
+    private static final PerfProfiler INSTANCE = new PerfProfiler();
+
+    private final Map<String, Section> sections = new ConcurrentHashMap<>();
+    private final Map<UUID, Section> survivors = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+    private int ticksInWindow;
+
+    private PerfProfiler() {
+    }
+
+    public static PerfProfiler instance() {
+        return INSTANCE;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the section for {@code category}/{@code name}, creating it on first use. Resolve once and keep it.
+     */
+    public Section section(String category, String name) {
+        return sections.computeIfAbsent(category + ":" + name, key -> new Section(category, name));
+    }
+
+    public long begin() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records the AI time one survivor spent in a scheduled slice.
+     */
+    public void endSurvivor(UUID survivorId, long begin) {
+        if (begin == 0L) {
+            return;
+        }
+        survivors.computeIfAbsent(survivorId, id -> new Section("survivor", id.toString())).record(System.nanoTime() - begin);
+    }
+
+    /**
+     * Advances the rolling window; called once per server tick.
+     */
+    public void tick() {
+        if (!enabled || ++ticksInWindow < WINDOW_TICKS) {
+            return;
+        }
+        ticksInWindow = 0;
+        sections.values().forEach(Section::rotate);
+        survivors.values().forEach(Section::rotate);
+    }
+
+    public void forgetSurvivor(UUID survivorId) {
+        survivors.remove(survivorId);
+    }
+
+    public void reset() {
+        sections.values().forEach(Section::reset);
+        survivors.clear();
+        ticksInWindow = 0;
+    }
+
+    /**
+     * Sections with samples, worst p99 first.
+     */
+    public List<Stats> sectionStats() {
+        return sorted(sections.values());
+    }
+
+    /**
+     * Survivors with samples, worst p99 first.
+     */
+    public List<Stats> survivorStats() {
+        return sorted(survivors.values());
+    }
+
+    private static List<Stats> sorted(Iterable<Section> source) {
+        List<Stats> stats = new ArrayList<>();
+        for (Section section : source) {
+            Stats snapshot = section.snapshot();
+            if (snapshot.count() > 0) {
+                stats.add(snapshot);
+            }
+        }
+        stats.sort(Comparator.comparingLong(Stats::p99Nanos).reversed());
+        return stats;
+    }
+
+    public static final class Section {
+        private final String category;
+        private final String name;
+        private volatile Window current = new Window();
+        private volatile Window previous = new Window();
+
+        private Section(String category, String name) {
+            this.category = category;
+            this.name = name;
+        }
+
+        public void end(long begin) {
+            if (begin != 0L) {
+                record(System.nanoTime() - begin);
+            }
+        }
+
+        private void record(long nanos) {
+            current.record(nanos);
+        }
+
+        private void rotate() {
+            previous = current;
+            current = new Window();
+        }
+
+        private void reset() {
+            previous = new Window();
+            current = new Window();
+        }
+
+        private Stats snapshot() {
+            Window now = current;
+            Window before = previous;
+            long[] buckets = new long[Window.BUCKETS];
+            long count = 0L;
+            for (int i = 0; i < Window.BUCKETS; i++) {
+                buckets[i] = now.buckets[i].sum() + before.buckets[i].sum();
+                count += buckets[i];
+            }
+            long total = now.totalNanos.sum() + before.totalNanos.sum();
+            long max = Math.max(now.maxNanos.get(), before.maxNanos.get());
+            return new Stats(category, name, count, total, percentile(buckets, count, 0.50),
+                percentile(buckets, count, 0.99), max);
+        }
+    }
+
+    /**
+     * Upper bound of the log2 bucket holding the requested quantile.
+     */
+    private static long percentile(long[] buckets, long count, double quantile) {
+        if (count == 0L) {
+            return 0L;
+        }
+        long rank = (long) Math.ceil(count * quantile);
+        long seen = 0L;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return i >= 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1L;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private static final class Window {
+        private static final int BUCKETS = 64;
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        private Window() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos) {
+            long clamped = Math.max(1L, nanos);
+            buckets[63 - Long.numberOfLeadingZeros(clamped)].increment();
+            totalNanos.add(clamped);
+            maxNanos.accumulate(clamped);
+        }
+    }
+
+    public record Stats(String category, String name, long count, long totalNanos, long p50Nanos, long p99Nanos,
+                        long maxNanos) {
+        public double meanMicros() {
+            return count == 0L ? 0.0 : totalNanos / 1000.0 / count;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.raimod.ai.raycast;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.ClipContext;
+import net.minecraft.world.level.EmptyBlockGetter;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.Vec3;
+import net.minecraft.world.phys.shapes.CollisionContext;
+import net.minecraft.world.phys.shapes.VoxelShape;
+
+/**
+ * A set of segments traced together against one level, each with its own block shape rule, matching {@code level.clip}
+ * with {@link ClipContext.Fluid#NONE}. Fill it with {@link #add}, hand it to {@link RaycastEngine#submit} and read
+ * {@link #isClear} from the completion callback.
+ */
+public final class RayBatch {
+    private final ServerLevel level;
+    private final ClipContext.Block defaultShape;
+    private final Map<Long, SectionSnapshot> sections = new HashMap<>();
+    private double[] rays = new double[6 * 16];
+    private ClipContext.Block[] shapes = new ClipContext.Block[16];
+    private boolean[] clear = new boolean[16];
+    private int size;
+    private boolean submitted;
+
+    /**
+     * @param defaultShape shape rule for segments added without one
+     */
+    public RayBatch(ServerLevel level, ClipContext.Block defaultShape) {
+        this.level = level;
+        this.defaultShape = defaultShape;
+    }
+
+    /**
+     * Adds a segment traced with the batch's default shape rule and returns its index.
+     */
+    public int add(Vec3 from, Vec3 to) {
+        return add(from, to, defaultShape);
+    }
+
+    /**
+     * Adds a segment traced with {@code shape} and returns its index.
+     */
+    public int add(Vec3 from, Vec3 to, ClipContext.Block shape) {
+        if (submitted) {
+            throw new IllegalStateException("Ray batch already submitted");
+        }
+        if (size == clear.length) {
+            rays = Arrays.copyOf(rays, rays.length * 2);
+            clear = Arrays.copyOf(clear, clear.length * 2);
+            shapes = Arrays.copyOf(shapes, shapes.length * 2);
+        }
+        shapes[size] = shape;
+        int base = size * 6;
+        rays[base] = from.x;
+        rays[base + 1] = from.y;
+        rays[base + 2] = from.z;
+        rays[base + 3] = to.x;
+        rays[base + 4] = to.y;
+        rays[base + 5] = to.z;
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isClear(int index) {
+        return clear[index];
+    }
+
+    ServerLevel level() {
+        return level;
+    }
+
+    /**
+     * Collects every section the batch's rays cross, fetching snapshots through {@code source}; server thread only.
+     */
+    void prepare(SnapshotSource source) {
+        submitted = true;
+        for (int i = 0; i < size; i++) {
+            int base = i * 6;
+            Vec3 from = new Vec3(rays[base], rays[base + 1], rays[base + 2]);
+            Vec3 to = new Vec3(rays[base + 3], rays[base + 4], rays[base + 5]);
+            SectionRay.walk(from, to, section -> sections.computeIfAbsent(section, source::snapshot));
+        }
+    }
+
+    /**
+     * Traces every ray over the prepared snapshots; runs on a worker.
+     */
+    void trace() {
+        Map<ClipContext.Block, Map<BlockState, VoxelShape>> voxels = new EnumMap<>(ClipContext.Block.class);
+        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+        for (int i = 0; i < size; i++) {
+            Map<BlockState, VoxelShape> cache = voxels.computeIfAbsent(shapes[i], shape -> new IdentityHashMap<>());
+            clear[i] = traceOne(i * 6, shapes[i], cache, cursor);
+        }
+    }
+
+    void failAll() {
+        Arrays.fill(clear, 0, size, false);
+    }
+
+    /**
+     * Amanatides-Woo walk over block cells; only cells with a non-empty shape are tested against the exact segment.
+     */
+    private boolean traceOne(int base, ClipContext.Block shape, Map<BlockState, VoxelShape> cache,
+        BlockPos.MutableBlockPos cursor) {
+        Vec3 from = new Vec3(rays[base], rays[base + 1], rays[base + 2]);
+        Vec3 to = new Vec3(rays[base + 3], rays[base + 4], rays[base + 5]);
+        int x = Mth.floor(from.x);
+        int y = Mth.floor(from.y);
+        int z = Mth.floor(from.z);
+        int endX = Mth.floor(to.x);
+        int endY = Mth.floor(to.y);
+        int endZ = Mth.floor(to.z);
+        double dx = to.x - from.x;
+        double dy = to.y - from.y;
+        double dz = to.z - from.z;
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        int stepZ = dz > 0 ? 1 : -1;
+        double deltaX = dx == 0 ? Double.POSITIVE_INFINITY : 1.0 / Math.abs(dx);
+        double deltaY = dy == 0 ? Double.POSITIVE_INFINITY : 1.0 / Math.abs(dy);
+        double deltaZ = dz == 0 ? Double.POSITIVE_INFINITY : 1.0 / Math.abs(dz);
+        double maxX = deltaX * (stepX > 0 ? x + 1 - from.x : from.x - x);
+        double maxY = deltaY * (stepY > 0 ? y + 1 - from.y : from.y - y);
+        double maxZ = deltaZ * (stepZ > 0 ? z + 1 - from.z : from.z - z);
+
+        long sectionKey = Long.MIN_VALUE;
+        SectionSnapshot section = SectionSnapshot.EMPTY;
+        int guard = Math.abs(endX - x) + Math.abs(endY - y) + Math.abs(endZ - z) + 1;
+        for (int i = 0; i < guard; i++) {
+            long key = SectionPos.asLong(x >> 4, y >> 4, z >> 4);
+            if (key != sectionKey) {
+                sectionKey = key;
+                section = sections.getOrDefault(key, SectionSnapshot.UNLOADED);
+            }
+            if (section.isOpaque()) {
+                return false;
+            }
+            if (!section.isEmpty()) {
+                BlockState state = section.get(x, y, z);
+                if (!state.isAir()) {
+                    VoxelShape voxel = cache.computeIfAbsent(state,
+                        s -> shape.get(s, EmptyBlockGetter.INSTANCE, BlockPos.ZERO, CollisionContext.empty()));
+                    if (!voxel.isEmpty() && voxel.clip(from, to, cursor.set(x, y, z)) != null) {
+                        return false;
+                    }
+                }
+            }
+            if (x == endX && y == endY && z == endZ) {
+                return true;
+            }
+            if (maxX < maxY && maxX < maxZ) {
+                x += stepX;
+                maxX += deltaX;
+            } else if (maxY < maxZ) {
+                y += stepY;
+                maxY += deltaY;
+            } else {
+                z += stepZ;
+                maxZ += deltaZ;
+            }
+        }
+        return true;
+    }
+
+    @FunctionalInterface
+    interface SnapshotSource {
+        SectionSnapshot snapshot(long sectionPos);
+    }
+}
@@ -0,0 +1,125 @@
+package com.raimod.ai.raycast;
+
+import com.raimod.ai.world.BlockChangeEvents;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Traces batches of rays off the server thread.
+ *
+ * <p>On {@link #submit} the sections a batch crosses are copied on the server thread (copies are reused until a block
+ * in the section changes), then the batch is traced on a small worker pool. Completion callbacks are queued and run on
+ * the server thread by {@link #drain}, normally one tick after submission, so callers must re-check that whatever they
+ * asked about is still relevant.
+ */
+public final class RaycastEngine {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RaycastEngine.class);
+    private static final RaycastEngine INSTANCE = new RaycastEngine();
+    private static final int MAX_CACHED_SECTIONS = 4096;
+
+    private final ExecutorService workers;
+    private final Queue<Completion> completed = new ConcurrentLinkedQueue<>();
+    private final Map<Long, SectionSnapshot> snapshots = new HashMap<>();
+    private ServerLevel level;
+    private int generation;
+
+    private RaycastEngine() {
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "RAI Raycast #" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        BlockChangeEvents.instance().subscribe(this::onBlockChanged);
+    }
+
+    public static RaycastEngine instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queues a batch for tracing; {@code onComplete} later runs on the server thread with every ray answered. Rays
+     * that could not be traced are reported as blocked. Server thread only.
+     */
+    public void submit(RayBatch batch, Consumer<RayBatch> onComplete) {
+        if (batch.level() != level) {
+            snapshots.clear();
+            level = batch.level();
+        } else if (snapshots.size() > MAX_CACHED_SECTIONS) {
+            snapshots.clear();
+        }
+        batch.prepare(this::snapshot);
+
+        int submittedIn = generation;
+        try {
+            workers.execute(() -> {
+                try {
+                    batch.trace();
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Ray batch of {} failed to trace", batch.size(), e);
+                    batch.failAll();
+                }
+                completed.add(new Completion(batch, onComplete, submittedIn));
+            });
+        } catch (RejectedExecutionException e) {
+            batch.failAll();
+            completed.add(new Completion(batch, onComplete, submittedIn));
+        }
+    }
+
+    /**
+     * Runs the callbacks of every batch finished since the last call; server thread only.
+     */
+    public void drain() {
+        Completion completion;
+        while ((completion = completed.poll()) != null) {
+            if (completion.generation() == generation) {
+                completion.callback().accept(completion.batch());
+            }
+        }
+    }
+
+    /**
+     * Drops cached sections and discards the callbacks of batches still in flight.
+     */
+    public void clear() {
+        generation++;
+        completed.clear();
+        snapshots.clear();
+        level = null;
+    }
+
+    private SectionSnapshot snapshot(long sectionPos) {
+        SectionSnapshot snapshot = snapshots.get(sectionPos);
+        if (snapshot == null) {
+            snapshot = SectionSnapshot.capture(level, sectionPos);
+            // Unloaded chunks get no change events when they load, so only loaded sections are kept.
+            if (snapshot != SectionSnapshot.UNLOADED) {
+                snapshots.put(sectionPos, snapshot);
+            }
+        }
+        return snapshot;
+    }
+
+    private void onBlockChanged(ServerLevel changed, BlockPos pos) {
+        if (changed == level) {
+            snapshots.remove(SectionPos.asLong(pos));
+        }
+    }
+
+    private record Completion(RayBatch batch, Consumer<RayBatch> callback, int generation) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.raimod.ai.raycast;
+
+import java.util.function.LongConsumer;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Walks a segment through the 16-block chunk section grid.
+ */
+public final class SectionRay {
+    private SectionRay() {
+    }
+
+    /**
+     * Reports the packed {@link SectionPos} of every section the segment touches, in order from {@code from}.
+     */
+    public static void walk(Vec3 from, Vec3 to, LongConsumer sink) {
+        int x = SectionPos.blockToSectionCoord(Mth.floor(from.x));
+        int y = SectionPos.blockToSectionCoord(Mth.floor(from.y));
+        int z = SectionPos.blockToSectionCoord(Mth.floor(from.z));
+        int endX = SectionPos.blockToSectionCoord(Mth.floor(to.x));
+        int endY = SectionPos.blockToSectionCoord(Mth.floor(to.y));
+        int endZ = SectionPos.blockToSectionCoord(Mth.floor(to.z));
+        double dx = (to.x - from.x) / 16.0;
+        double dy = (to.y - from.y) / 16.0;
+        double dz = (to.z - from.z) / 16.0;
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        int stepZ = dz > 0 ? 1 : -1;
+        double deltaX = dx == 0 ? Double.POSITIVE_INFINITY : 1.0 / Math.abs(dx);
+        double deltaY = dy == 0 ? Double.POSITIVE_INFINITY : 1.0 / Math.abs(dy);
+        double deltaZ = dz == 0 ? Double.POSITIVE_INFINITY : 1.0 / Math.abs(dz);
+        double fx = from.x / 16.0;
+        double fy = from.y / 16.0;
+        double fz = from.z / 16.0;
+        double maxX = deltaX * (stepX > 0 ? x + 1 - fx : fx - x);
+        double maxY = deltaY * (stepY > 0 ? y + 1 - fy : fy - y);
+        double maxZ = deltaZ * (stepZ > 0 ? z + 1 - fz : fz - z);
+
+        int guard = Math.abs(endX - x) + Math.abs(endY - y) + Math.abs(endZ - z) + 1;
+        for (int i = 0; i < guard; i++) {
+            sink.accept(SectionPos.asLong(x, y, z));
+            if (x == endX && y == endY && z == endZ) {
+                return;
+            }
+            if (maxX < maxY && maxX < maxZ) {
+                x += stepX;
+                maxX += deltaX;
+            } else if (maxY < maxZ) {
+                y += stepY;
+                maxY += deltaY;
+            } else {
+                z += stepZ;
+                maxZ += deltaZ;
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.raimod.ai.raycast;
+
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+
+/**
+ * Immutable copy of one chunk section's block states, safe to read from worker threads.
+ *
+ * <p>Air-only and out-of-world sections share {@link #EMPTY}; sections of chunks that are not loaded share
+ * {@link #UNLOADED}, which blocks every ray so results stay conservative.
+ */
+final class SectionSnapshot {
+    static final SectionSnapshot EMPTY = new SectionSnapshot(null, false);
+    static final SectionSnapshot UNLOADED = new SectionSnapshot(null, true);
+
+    private final PalettedContainer<BlockState> states;
+    private final boolean opaque;
+
+    private SectionSnapshot(PalettedContainer<BlockState> states, boolean opaque) {
+        this.states = states;
+        this.opaque = opaque;
+    }
+
+    /**
+     * Copies the section on the server thread.
+     */
+    static SectionSnapshot capture(ServerLevel level, long sectionPos) {
+        int y = SectionPos.y(sectionPos);
+        if (y < level.getMinSection() || y >= level.getMaxSection()) {
+            return EMPTY;
+        }
+        LevelChunk chunk = level.getChunkSource().getChunkNow(SectionPos.x(sectionPos), SectionPos.z(sectionPos));
+        if (chunk == null) {
+            return UNLOADED;
+        }
+        LevelChunkSection section = chunk.getSection(level.getSectionIndexFromSectionY(y));
+        if (section.hasOnlyAir()) {
+            return EMPTY;
+        }
+        return new SectionSnapshot(section.getStates().copy(), false);
+    }
+
+    boolean isEmpty() {
+        return states == null && !opaque;
+    }
+
+    boolean isOpaque() {
+        return opaque;
+    }
+
+    BlockState get(int x, int y, int z) {
+        return states.get(x & 15, y & 15, z & 15);
+    }
+}
@@ -0,0 +1,266 @@
+package com.raimod.ai.spatial;
+
+import com.raimod.entity.SimulatedSurvivor;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.LivingEntity;
+
+/**
+ * Uniform 16-block column grid over in-world survivors and real players, rebuilt by the director once per tick.
+ *
+ * <p>Survivors are not added to the level, so this is also the only place range queries can find them. Positions are
+ * snapshotted at rebuild; queries filter on the snapshot and write into caller-owned arrays, so they allocate nothing
+ * and only visit cells overlapping the query. Server thread only.
+ */
+public final class SpatialIndex {
+    public static final int SURVIVORS = 1;
+    public static final int PLAYERS = 2;
+    public static final int ALL = SURVIVORS | PLAYERS;
+
+    private static final SpatialIndex INSTANCE = new SpatialIndex();
+    private static final int CELL_SHIFT = 4;
+    private static final int CELL_SIZE = 1 << CELL_SHIFT;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private LivingEntity[] entities = new LivingEntity[64];
+    private double[] xs = new double[64];
+    private double[] ys = new double[64];
+    private double[] zs = new double[64];
+    private byte[] kinds = new byte[64];
+    private int[] next = new int[64];
+    private int count;
+
+    private long[] cellKeys = new long[128];
+    private int[] cellHeads = new int[128];
+    private final Map<UUID, SimulatedSurvivor> survivorsById = new HashMap<>();
+
+    private final LivingEntity[] nearestScratch = new LivingEntity[1];
+    private double[] nearestDistances = new double[8];
+
+    private SpatialIndex() {
+        Arrays.fill(cellKeys, EMPTY);
+    }
+
+    public static SpatialIndex instance() {
+        return INSTANCE;
+    }
+
+    public void rebuild(List<SimulatedSurvivor> survivors, List<ServerPlayer> players) {
+        int total = survivors.size() + players.size();
+        ensureCapacity(total);
+        resetCells(total);
+        Arrays.fill(entities, total, entities.length, null);
+        count = 0;
+        survivorsById.clear();
+
+        for (SimulatedSurvivor survivor : survivors) {
+            insert(survivor, SURVIVORS);
+            survivorsById.put(survivor.id(), survivor);
+        }
+        for (ServerPlayer player : players) {
+            insert(player, PLAYERS);
+        }
+    }
+
+    public void clear() {
+        rebuild(List.of(), List.of());
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * In-world survivor by id, or {@code null} when it is off-world or unknown.
+     */
+    public SimulatedSurvivor survivor(UUID id) {
+        return survivorsById.get(id);
+    }
+
+    /**
+     * Writes entities of the given {@code kinds} within {@code radius} of the point into {@code out} and returns the
+     * number of matches. Only the first {@code out.length} matches are written; a larger return value means the buffer
+     * was too small.
+     */
+    public int queryRadius(double x, double y, double z, double radius, int kinds, LivingEntity[] out) {
+        double radiusSqr = radius * radius;
+        int minCx = Mth.floor(x - radius) >> CELL_SHIFT;
+        int maxCx = Mth.floor(x + radius) >> CELL_SHIFT;
+        int minCz = Mth.floor(z - radius) >> CELL_SHIFT;
+        int maxCz = Mth.floor(z + radius) >> CELL_SHIFT;
+        int found = 0;
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cz = minCz; cz <= maxCz; cz++) {
+                int slot = findCell(key(cx, cz));
+                if (slot < 0) {
+                    continue;
+                }
+                for (int i = cellHeads[slot]; i >= 0; i = next[i]) {
+                    if ((this.kinds[i] & kinds) != 0 && distanceSqr(i, x, y, z) <= radiusSqr) {
+                        if (found < out.length) {
+                            out[found] = entities[i];
+                        }
+                        found++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Writes up to {@code out.length} entities of the given {@code kinds} within {@code maxRadius}, nearest first, and
+     * returns how many were written. Cells are visited in rings around the point and the search stops once no
+     * unvisited cell can hold anything closer than the current k-th result.
+     */
+    public int nearest(double x, double y, double z, double maxRadius, int kinds, LivingEntity[] out) {
+        int k = out.length;
+        if (k == 0 || count == 0) {
+            return 0;
+        }
+        if (nearestDistances.length < k) {
+            nearestDistances = new double[k];
+        }
+        double maxRadiusSqr = maxRadius * maxRadius;
+        int centerCx = Mth.floor(x) >> CELL_SHIFT;
+        int centerCz = Mth.floor(z) >> CELL_SHIFT;
+        int maxRing = (int) Math.ceil(maxRadius / CELL_SIZE) + 1;
+        int found = 0;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int cx = centerCx - ring; cx <= centerCx + ring; cx++) {
+                boolean edgeColumn = cx == centerCx - ring || cx == centerCx + ring;
+                int step = edgeColumn ? 1 : Math.max(1, 2 * ring);
+                for (int cz = centerCz - ring; cz <= centerCz + ring; cz += step) {
+                    int slot = findCell(key(cx, cz));
+                    if (slot < 0) {
+                        continue;
+                    }
+                    for (int i = cellHeads[slot]; i >= 0; i = next[i]) {
+                        if ((this.kinds[i] & kinds) == 0) {
+                            continue;
+                        }
+                        double d = distanceSqr(i, x, y, z);
+                        if (d > maxRadiusSqr || (found == k && d >= nearestDistances[k - 1])) {
+                            continue;
+                        }
+                        int at = found < k ? found++ : k - 1;
+                        while (at > 0 && nearestDistances[at - 1] > d) {
+                            nearestDistances[at] = nearestDistances[at - 1];
+                            out[at] = out[at - 1];
+                            at--;
+                        }
+                        nearestDistances[at] = d;
+                        out[at] = entities[i];
+                    }
+                }
+            }
+            // Anything in the next ring is at least ring * CELL_SIZE away horizontally.
+            double reach = (double) ring * CELL_SIZE;
+            if (found == k && nearestDistances[k - 1] <= reach * reach) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Nearest entity of the given {@code kinds} within {@code maxRadius}, or {@code null}.
+     */
+    public LivingEntity nearest(double x, double y, double z, double maxRadius, int kinds) {
+        LivingEntity[] scratch = nearestScratch;
+        int found = nearest(x, y, z, maxRadius, kinds, scratch);
+        LivingEntity result = found == 0 ? null : scratch[0];
+        scratch[0] = null;
+        return result;
+    }
+
+    /**
+     * Squared distance to the nearest entity of the given {@code kinds}, or {@link Double#MAX_VALUE} when none is
+     * within {@code maxRadius}.
+     */
+    public double nearestDistanceSqr(double x, double y, double z, double maxRadius, int kinds) {
+        LivingEntity nearest = nearest(x, y, z, maxRadius, kinds);
+        return nearest == null ? Double.MAX_VALUE : nearest.distanceToSqr(x, y, z);
+    }
+
+    private void insert(LivingEntity entity, int kind) {
+        int i = count++;
+        entities[i] = entity;
+        xs[i] = entity.getX();
+        ys[i] = entity.getY();
+        zs[i] = entity.getZ();
+        kinds[i] = (byte) kind;
+
+        long key = key(Mth.floor(xs[i]) >> CELL_SHIFT, Mth.floor(zs[i]) >> CELL_SHIFT);
+        int mask = cellKeys.length - 1;
+        int slot = mix(key) & mask;
+        while (cellKeys[slot] != EMPTY && cellKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (cellKeys[slot] == EMPTY) {
+            cellKeys[slot] = key;
+            cellHeads[slot] = -1;
+        }
+        next[i] = cellHeads[slot];
+        cellHeads[slot] = i;
+    }
+
+    private int findCell(long key) {
+        int mask = cellKeys.length - 1;
+        int slot = mix(key) & mask;
+        while (cellKeys[slot] != EMPTY) {
+            if (cellKeys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private double distanceSqr(int i, double x, double y, double z) {
+        double dx = xs[i] - x;
+        double dy = ys[i] - y;
+        double dz = zs[i] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private void ensureCapacity(int total) {
+        if (total <= entities.length) {
+            return;
+        }
+        int capacity = Math.max(total, entities.length * 2);
+        entities = new LivingEntity[capacity];
+        xs = new double[capacity];
+        ys = new double[capacity];
+        zs = new double[capacity];
+        kinds = new byte[capacity];
+        next = new int[capacity];
+    }
+
+    /**
+     * Keeps the open-addressed cell table at most half full.
+     */
+    private void resetCells(int total) {
+        int wanted = Integer.highestOneBit(Math.max(64, total * 2 - 1)) << 1;
+        if (cellKeys.length < wanted) {
+            cellKeys = new long[wanted];
+            cellHeads = new int[wanted];
+        }
+        Arrays.fill(cellKeys, EMPTY);
+    }
+
+    private static long key(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
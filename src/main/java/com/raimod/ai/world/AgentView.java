@@ -0,0 +1,39 @@
+package com.raimod.ai.world;
+
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Read-only view of a survivor, player or other combatant as seen by the AI layers.
+ */
+public interface AgentView {
+    UUID id();
+
+    Vec3 position();
+
+    Vec3 eyePosition();
+
+    Vec3 velocity();
+
+    Vec3 lookDirection();
+
+    float health();
+
+    float maxHealth();
+
+    boolean isAlive();
+
+    boolean isArmed();
+
+    boolean isCrouching();
+
+    /**
+     * True while the agent remembers a living attacker that recently hurt it.
+     */
+    boolean recentlyAttacked();
+
+    default BlockPos blockPosition() {
+        return BlockPos.containing(position());
+    }
+}
@@ -0,0 +1,78 @@
+package com.raimod.ai.world;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.neoforged.bus.api.IEventBus;
+import net.neoforged.neoforge.event.level.BlockEvent;
+import net.neoforged.neoforge.event.level.ExplosionEvent;
+
+/**
+ * Single fan-out point for server-side block changes, so caches keyed on world geometry can invalidate themselves
+ * without each registering its own NeoForge listeners.
+ *
+ * <p>Neighbor notifications cover ordinary placement, breaking and most scripted changes; entity placement and
+ * explosion detonation are forwarded as well because they can bypass neighbor updates. A position may be reported more
+ * than once per change, so listeners must be idempotent.
+ */
+public final class BlockChangeEvents {
+    private static final BlockChangeEvents INSTANCE = new BlockChangeEvents();
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private BlockChangeEvents() {
+    }
+
+    public static BlockChangeEvents instance() {
+        return INSTANCE;
+    }
+
+    public void register(IEventBus bus) {
+        bus.addListener(this::onNeighborNotify);
+        bus.addListener(this::onEntityPlace);
+        bus.addListener(this::onDetonate);
+    }
+
+    public void subscribe(Listener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    public void unsubscribe(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Reports a change made by mod code that may not raise a NeoForge event.
+     */
+    public void fire(ServerLevel level, BlockPos pos) {
+        for (Listener listener : listeners) {
+            listener.onBlockChanged(level, pos);
+        }
+    }
+
+    private void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            fire(level, event.getPos());
+        }
+    }
+
+    private void onEntityPlace(BlockEvent.EntityPlaceEvent event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            fire(level, event.getPos());
+        }
+    }
+
+    private void onDetonate(ExplosionEvent.Detonate event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            for (BlockPos pos : event.getAffectedBlocks()) {
+                fire(level, pos);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        void onBlockChanged(ServerLevel level, BlockPos pos);
+    }
+}
@@ -0,0 +1,124 @@
+package com.raimod.ai.world;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+/**
+ * Box searches for blocks matching a predicate, walking chunk sections instead of calling {@code getBlockState} per
+ * position.
+ *
+ * <p>Each section's palette is tested first with {@link LevelChunkSection#maybeHas}; sections whose palette holds no
+ * matching state are skipped without reading a block. Remaining sections are visited nearest first so a search with a
+ * small limit stops once no unvisited section can hold anything closer. Only loaded chunks are searched.
+ */
+public final class BlockQuery {
+    private BlockQuery() {
+    }
+
+    /**
+     * Nearest matching position in the box, or {@code null}.
+     */
+    public static BlockPos nearest(ServerLevel level, BlockPos center, int radius, int below, int above,
+                                   Predicate<BlockState> matcher) {
+        List<BlockPos> found = find(level, center, radius, below, above, matcher, 1);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /**
+     * Up to {@code limit} matching positions within {@code radius} horizontally and {@code below}/{@code above}
+     * vertically of {@code center}, ordered by distance from it.
+     */
+    public static List<BlockPos> find(ServerLevel level, BlockPos center, int radius, int below, int above,
+                                      Predicate<BlockState> matcher, int limit) {
+        int minX = center.getX() - radius;
+        int maxX = center.getX() + radius;
+        int minY = Math.max(level.getMinBuildHeight(), center.getY() - below);
+        int maxY = Math.min(level.getMaxBuildHeight() - 1, center.getY() + above);
+        int minZ = center.getZ() - radius;
+        int maxZ = center.getZ() + radius;
+        if (minY > maxY || limit <= 0) {
+            return List.of();
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (int sx = SectionPos.blockToSectionCoord(minX); sx <= SectionPos.blockToSectionCoord(maxX); sx++) {
+            for (int sz = SectionPos.blockToSectionCoord(minZ); sz <= SectionPos.blockToSectionCoord(maxZ); sz++) {
+                LevelChunk chunk = level.getChunkSource().getChunkNow(sx, sz);
+                if (chunk == null) {
+                    continue;
+                }
+                for (int sy = SectionPos.blockToSectionCoord(minY); sy <= SectionPos.blockToSectionCoord(maxY); sy++) {
+                    LevelChunkSection section = chunk.getSection(level.getSectionIndexFromSectionY(sy));
+                    if (!section.maybeHas(matcher)) {
+                        continue;
+                    }
+                    candidates.add(new Candidate(section, sx, sy, sz, sectionDistSqr(center, sx, sy, sz)));
+                }
+            }
+        }
+        candidates.sort(Comparator.comparingLong(Candidate::minDistSqr));
+
+        List<Match> matches = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (matches.size() >= limit && candidate.minDistSqr() > matches.get(limit - 1).distSqr()) {
+                break;
+            }
+            int x0 = Math.max(minX, SectionPos.sectionToBlockCoord(candidate.x()));
+            int x1 = Math.min(maxX, SectionPos.sectionToBlockCoord(candidate.x(), 15));
+            int y0 = Math.max(minY, SectionPos.sectionToBlockCoord(candidate.y()));
+            int y1 = Math.min(maxY, SectionPos.sectionToBlockCoord(candidate.y(), 15));
+            int z0 = Math.max(minZ, SectionPos.sectionToBlockCoord(candidate.z()));
+            int z1 = Math.min(maxZ, SectionPos.sectionToBlockCoord(candidate.z(), 15));
+            int before = matches.size();
+            for (int y = y0; y <= y1; y++) {
+                for (int z = z0; z <= z1; z++) {
+                    for (int x = x0; x <= x1; x++) {
+                        if (matcher.test(candidate.section().getBlockState(x & 15, y & 15, z & 15))) {
+                            matches.add(new Match(new BlockPos(x, y, z), distSqr(center, x, y, z)));
+                        }
+                    }
+                }
+            }
+            if (matches.size() != before) {
+                matches.sort(Comparator.comparingLong(Match::distSqr));
+                if (matches.size() > limit) {
+                    matches.subList(limit, matches.size()).clear();
+                }
+            }
+        }
+
+        List<BlockPos> result = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            result.add(match.pos());
+        }
+        return result;
+    }
+
+    private static long sectionDistSqr(BlockPos center, int sx, int sy, int sz) {
+        int x = Math.clamp(center.getX(), SectionPos.sectionToBlockCoord(sx), SectionPos.sectionToBlockCoord(sx, 15));
+        int y = Math.clamp(center.getY(), SectionPos.sectionToBlockCoord(sy), SectionPos.sectionToBlockCoord(sy, 15));
+        int z = Math.clamp(center.getZ(), SectionPos.sectionToBlockCoord(sz), SectionPos.sectionToBlockCoord(sz, 15));
+        return distSqr(center, x, y, z);
+    }
+
+    private static long distSqr(BlockPos center, int x, int y, int z) {
+        long dx = x - center.getX();
+        long dy = y - center.getY();
+        long dz = z - center.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private record Candidate(LevelChunkSection section, int x, int y, int z, long minDistSqr) {
+    }
+
+    private record Match(BlockPos pos, long distSqr) {
+    }
+}
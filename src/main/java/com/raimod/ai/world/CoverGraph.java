@@ -0,0 +1,231 @@
+package com.raimod.ai.world;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Lazily built cover points per chunk section.
+ *
+ * <p>A cover point is a standable two-block cell with at least one solid block at head height around it. Each point
+ * stores which of the eight compass bearings that block faces, so a query only has to check the bearing towards the
+ * threat. Sections are built on first query and dropped when a block in or next to them changes. A section whose
+ * build had to read into an unloaded neighbour is used for that query but not cached, so it is rebuilt once the
+ * neighbour loads. Server thread only.
+ */
+public final class CoverGraph {
+    private static final CoverGraph INSTANCE = new CoverGraph();
+    private static final int MAX_CACHED_SECTIONS = 8192;
+    private static final int[] DX = {0, 1, 1, 1, 0, -1, -1, -1};
+    private static final int[] DZ = {-1, -1, 0, 1, 1, 1, 0, -1};
+    private static final CoverSection EMPTY = new CoverSection(new short[0], new byte[0]);
+
+    private final Map<Long, CoverSection> sections = new HashMap<>();
+    private ServerLevel level;
+    private boolean readUnloaded;
+
+    private CoverGraph() {
+        BlockChangeEvents.instance().subscribe(this::onBlockChanged);
+    }
+
+    public static CoverGraph instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Cover point nearest {@code from} within {@code radius} horizontally and {@code below}/{@code above} vertically
+     * whose covering block faces {@code threat}, or {@code null}.
+     */
+    public BlockPos nearestCover(ServerLevel level, BlockPos from, Vec3 threat, int radius, int below, int above) {
+        if (level != this.level) {
+            sections.clear();
+            this.level = level;
+        } else if (sections.size() > MAX_CACHED_SECTIONS) {
+            sections.clear();
+        }
+
+        int minX = from.getX() - radius;
+        int maxX = from.getX() + radius;
+        int minY = from.getY() - below;
+        int maxY = from.getY() + above;
+        int minZ = from.getZ() - radius;
+        int maxZ = from.getZ() + radius;
+
+        List<long[]> candidates = new ArrayList<>();
+        for (int sx = SectionPos.blockToSectionCoord(minX); sx <= SectionPos.blockToSectionCoord(maxX); sx++) {
+            for (int sy = SectionPos.blockToSectionCoord(minY); sy <= SectionPos.blockToSectionCoord(maxY); sy++) {
+                for (int sz = SectionPos.blockToSectionCoord(minZ); sz <= SectionPos.blockToSectionCoord(maxZ); sz++) {
+                    candidates.add(new long[] {SectionPos.asLong(sx, sy, sz), sectionDistSqr(from, sx, sy, sz)});
+                }
+            }
+        }
+        candidates.sort(Comparator.comparingLong(candidate -> candidate[1]));
+
+        BlockPos best = null;
+        long bestDist = Long.MAX_VALUE;
+        for (long[] candidate : candidates) {
+            if (candidate[1] >= bestDist) {
+                break;
+            }
+            long key = candidate[0];
+            CoverSection section = section(level, key);
+            int baseX = SectionPos.sectionToBlockCoord(SectionPos.x(key));
+            int baseY = SectionPos.sectionToBlockCoord(SectionPos.y(key));
+            int baseZ = SectionPos.sectionToBlockCoord(SectionPos.z(key));
+            for (int i = 0; i < section.cells().length; i++) {
+                int cell = section.cells()[i];
+                int x = baseX + (cell & 15);
+                int z = baseZ + ((cell >> 4) & 15);
+                int y = baseY + ((cell >> 8) & 15);
+                if (x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ) {
+                    continue;
+                }
+                if ((section.masks()[i] & (1 << bearing(x + 0.5, z + 0.5, threat))) == 0) {
+                    continue;
+                }
+                long dx = x - from.getX();
+                long dy = y - from.getY();
+                long dz = z - from.getZ();
+                long dist = dx * dx + dy * dy + dz * dz;
+                if (dist < bestDist) {
+                    bestDist = dist;
+                    best = new BlockPos(x, y, z);
+                }
+            }
+        }
+        return best;
+    }
+
+    public void clear() {
+        sections.clear();
+        level = null;
+    }
+
+    private void onBlockChanged(ServerLevel changed, BlockPos pos) {
+        if (changed != level || sections.isEmpty()) {
+            return;
+        }
+        // A cell reads its neighbours one block away, so a change on a section face also affects the adjacent section.
+        for (int sx = SectionPos.blockToSectionCoord(pos.getX() - 1); sx <= SectionPos.blockToSectionCoord(pos.getX() + 1); sx++) {
+            for (int sy = SectionPos.blockToSectionCoord(pos.getY() - 1); sy <= SectionPos.blockToSectionCoord(pos.getY() + 1); sy++) {
+                for (int sz = SectionPos.blockToSectionCoord(pos.getZ() - 1); sz <= SectionPos.blockToSectionCoord(pos.getZ() + 1); sz++) {
+                    sections.remove(SectionPos.asLong(sx, sy, sz));
+                }
+            }
+        }
+    }
+
+    private CoverSection section(ServerLevel level, long key) {
+        CoverSection section = sections.get(key);
+        if (section == null) {
+            readUnloaded = false;
+            section = build(level, key);
+            if (section == null) {
+                section = EMPTY;
+            } else if (!readUnloaded) {
+                sections.put(key, section);
+            }
+        }
+        return section;
+    }
+
+    /**
+     * Scans one section, or returns {@code null} when its chunk is not loaded so it is retried later.
+     */
+    private CoverSection build(ServerLevel level, long key) {
+        int sy = SectionPos.y(key);
+        if (sy < level.getMinSection() || sy >= level.getMaxSection()) {
+            return EMPTY;
+        }
+        LevelChunk chunk = level.getChunkSource().getChunkNow(SectionPos.x(key), SectionPos.z(key));
+        if (chunk == null) {
+            return null;
+        }
+        LevelChunkSection section = chunk.getSection(level.getSectionIndexFromSectionY(sy));
+        int baseX = SectionPos.sectionToBlockCoord(SectionPos.x(key));
+        int baseY = SectionPos.sectionToBlockCoord(sy);
+        int baseZ = SectionPos.sectionToBlockCoord(SectionPos.z(key));
+        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+
+        short[] cells = new short[64];
+        byte[] masks = new byte[64];
+        int count = 0;
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    if (!section.getBlockState(x, y, z).isAir()
+                        || !stateAt(level, section, cursor, baseX, baseY, baseZ, x, y - 1, z).isSolid()
+                        || !stateAt(level, section, cursor, baseX, baseY, baseZ, x, y + 1, z).isAir()) {
+                        continue;
+                    }
+                    int mask = 0;
+                    for (int d = 0; d < 8; d++) {
+                        if (stateAt(level, section, cursor, baseX, baseY, baseZ, x + DX[d], y + 1, z + DZ[d]).isSolid()) {
+                            mask |= 1 << d;
+                        }
+                    }
+                    if (mask == 0) {
+                        continue;
+                    }
+                    if (count == cells.length) {
+                        cells = Arrays.copyOf(cells, count * 2);
+                        masks = Arrays.copyOf(masks, count * 2);
+                    }
+                    cells[count] = (short) (y << 8 | z << 4 | x);
+                    masks[count] = (byte) mask;
+                    count++;
+                }
+            }
+        }
+        return count == 0 ? EMPTY : new CoverSection(Arrays.copyOf(cells, count), Arrays.copyOf(masks, count));
+    }
+
+    /**
+     * Reads inside the section directly and falls back to the level across its faces; unloaded neighbours read as
+     * air so a build never loads chunks, and mark the build so its result is not cached.
+     */
+    private BlockState stateAt(ServerLevel level, LevelChunkSection section, BlockPos.MutableBlockPos cursor,
+                               int baseX, int baseY, int baseZ, int x, int y, int z) {
+        if (x >= 0 && x < 16 && y >= 0 && y < 16 && z >= 0 && z < 16) {
+            return section.getBlockState(x, y, z);
+        }
+        cursor.set(baseX + x, baseY + y, baseZ + z);
+        if (level.isOutsideBuildHeight(cursor)) {
+            return Blocks.AIR.defaultBlockState();
+        }
+        if (!level.isLoaded(cursor)) {
+            readUnloaded = true;
+            return Blocks.AIR.defaultBlockState();
+        }
+        return level.getBlockState(cursor);
+    }
+
+    /**
+     * Compass sector, 0 = north, clockwise, of the threat as seen from the cell.
+     */
+    private static int bearing(double x, double z, Vec3 threat) {
+        double angle = Math.atan2(threat.x - x, z - threat.z);
+        return Math.floorMod((int) Math.round(angle / (Math.PI / 4.0)), 8);
+    }
+
+    private static long sectionDistSqr(BlockPos from, int sx, int sy, int sz) {
+        long dx = Math.clamp(from.getX(), SectionPos.sectionToBlockCoord(sx), SectionPos.sectionToBlockCoord(sx, 15)) - from.getX();
+        long dy = Math.clamp(from.getY(), SectionPos.sectionToBlockCoord(sy), SectionPos.sectionToBlockCoord(sy, 15)) - from.getY();
+        long dz = Math.clamp(from.getZ(), SectionPos.sectionToBlockCoord(sz), SectionPos.sectionToBlockCoord(sz, 15)) - from.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private record CoverSection(short[] cells, byte[] masks) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.raimod.ai.world;
+
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.phys.Vec3;
+
+public record EntityAgentView(LivingEntity entity) implements AgentView {
+    @Override
+    public UUID id() {
+        return entity.getUUID();
+    }
+
+    @Override
+    public Vec3 position() {
+        return entity.position();
+    }
+
+    @Override
+    public Vec3 eyePosition() {
+        return entity.getEyePosition();
+    }
+
+    @Override
+    public Vec3 velocity() {
+        return entity.getDeltaMovement();
+    }
+
+    @Override
+    public Vec3 lookDirection() {
+        return entity.getLookAngle();
+    }
+
+    @Override
+    public float health() {
+        return entity.getHealth();
+    }
+
+    @Override
+    public float maxHealth() {
+        return entity.getMaxHealth();
+    }
+
+    @Override
+    public boolean isAlive() {
+        return entity.isAlive();
+    }
+
+    @Override
+    public boolean isArmed() {
+        return !entity.getMainHandItem().isEmpty() && !entity.getMainHandItem().isEdible();
+    }
+
+    @Override
+    public boolean isCrouching() {
+        return entity.isShiftKeyDown();
+    }
+
+    @Override
+    public boolean recentlyAttacked() {
+        return entity.getLastHurtByMob() != null;
+    }
+
+    @Override
+    public BlockPos blockPosition() {
+        return entity.blockPosition();
+    }
+}
@@ -0,0 +1,92 @@
+package com.raimod.ai.world;
+
+import com.raimod.ai.perception.LineOfSightCache;
+import com.raimod.ai.spatial.SpatialIndex;
+import com.raimod.integration.ModIntegrationRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.tags.BlockTags;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * {@link WorldView} over a live server level and the mod integrations that report sounds, break attempts and corpses.
+ */
+public record LevelWorldView(ServerLevel level, ModIntegrationRegistry integrations) implements WorldView {
+    @Override
+    public long gameTime() {
+        return level.getGameTime();
+    }
+
+    @Override
+    public boolean isAir(BlockPos pos) {
+        return level.getBlockState(pos).isAir();
+    }
+
+    @Override
+    public boolean isOpaque(BlockPos pos) {
+        return level.getBlockState(pos).canOcclude();
+    }
+
+    @Override
+    public boolean isSolid(BlockPos pos) {
+        return level.getBlockState(pos).isSolid();
+    }
+
+    @Override
+    public boolean isMineable(BlockPos pos) {
+        return level.getBlockState(pos).is(BlockTags.MINEABLE_WITH_PICKAXE);
+    }
+
+    @Override
+    public boolean hasLineOfSight(Vec3 from, Vec3 to) {
+        return LineOfSightCache.instance().hasLineOfSight(level, from, to);
+    }
+
+    @Override
+    public AgentView nearestPlayer(Vec3 pos, double range) {
+        LivingEntity player = SpatialIndex.instance().nearest(pos.x, pos.y, pos.z, range, SpatialIndex.PLAYERS);
+        return player == null ? null : new EntityAgentView(player);
+    }
+
+    @Override
+    public List<AgentView> agentsNear(Vec3 pos, double range) {
+        List<AgentView> agents = new ArrayList<>();
+        for (LivingEntity entity : level.getEntitiesOfClass(LivingEntity.class, new AABB(pos, pos).inflate(range),
+            entity -> entity.isAlive() && !(entity instanceof Player))) {
+            agents.add(new EntityAgentView(entity));
+        }
+        LivingEntity[] indexed = new LivingEntity[16];
+        int found = SpatialIndex.instance().queryRadius(pos.x, pos.y, pos.z, range, SpatialIndex.ALL, indexed);
+        if (found > indexed.length) {
+            indexed = new LivingEntity[found];
+            SpatialIndex.instance().queryRadius(pos.x, pos.y, pos.z, range, SpatialIndex.ALL, indexed);
+        }
+        for (int i = 0; i < found; i++) {
+            if (indexed[i].isAlive()) {
+                agents.add(new EntityAgentView(indexed[i]));
+            }
+        }
+        return agents;
+    }
+
+    @Override
+    public boolean loudSoundNear(BlockPos pos, int radius) {
+        return integrations.hasLoudSoundNear(pos, radius);
+    }
+
+    @Override
+    public boolean homeUnderAttack(UUID survivorId) {
+        return integrations.securityCraft().hasRecentBreakAttempt(survivorId);
+    }
+
+    @Override
+    public boolean hasUnrecoveredCorpse(UUID survivorId) {
+        return integrations.corpse().hasUnrecoveredCorpse(survivorId);
+    }
+}
@@ -0,0 +1,42 @@
+package com.raimod.ai.world;
+
+import java.util.List;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * The world queries survivor perception, memory and goal scoring depend on.
+ *
+ * <p>{@link LevelWorldView} answers them from a live {@code ServerLevel}; headless simulations provide their own
+ * implementation so the same AI code can be driven without a Minecraft server.
+ */
+public interface WorldView {
+    long gameTime();
+
+    boolean isAir(BlockPos pos);
+
+    /**
+     * Blocks sight as well as movement.
+     */
+    boolean isOpaque(BlockPos pos);
+
+    /**
+     * Can be stood on.
+     */
+    boolean isSolid(BlockPos pos);
+
+    boolean isMineable(BlockPos pos);
+
+    boolean hasLineOfSight(Vec3 from, Vec3 to);
+
+    AgentView nearestPlayer(Vec3 pos, double range);
+
+    List<AgentView> agentsNear(Vec3 pos, double range);
+
+    boolean loudSoundNear(BlockPos pos, int radius);
+
+    boolean homeUnderAttack(UUID survivorId);
+
+    boolean hasUnrecoveredCorpse(UUID survivorId);
+}
@@ -0,0 +1,125 @@
+package com.raimod.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.raimod.ai.perf.PerfProfiler;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.level.storage.LevelResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@code /rai} operator commands.
+ */
+public final class RAICommands {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RAICommands.class);
+    private static final int DEFAULT_TOP = 10;
+    private static final DateTimeFormatter DUMP_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private RAICommands() {
+    }
+
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal("rai")
+            .requires(source -> source.hasPermission(2))
+            .then(Commands.literal("perf")
+                .executes(context -> printTop(context, DEFAULT_TOP))
+                .then(Commands.argument("top", IntegerArgumentType.integer(1, 100))
+                    .executes(context -> printTop(context, IntegerArgumentType.getInteger(context, "top"))))
+                .then(Commands.literal("start").executes(context -> setEnabled(context, true)))
+                .then(Commands.literal("stop").executes(context -> setEnabled(context, false)))
+                .then(Commands.literal("reset").executes(RAICommands::reset))
+                .then(Commands.literal("dump").executes(RAICommands::dump))));
+    }
+
+    private static int setEnabled(CommandContext<CommandSourceStack> context, boolean enabled) {
+        PerfProfiler.instance().setEnabled(enabled);
+        context.getSource().sendSuccess(() -> Component.literal("RAI profiler " + (enabled ? "started" : "stopped")), true);
+        return 1;
+    }
+
+    private static int reset(CommandContext<CommandSourceStack> context) {
+        PerfProfiler.instance().reset();
+        context.getSource().sendSuccess(() -> Component.literal("RAI profiler samples cleared"), true);
+        return 1;
+    }
+
+    private static int printTop(CommandContext<CommandSourceStack> context, int top) {
+        PerfProfiler profiler = PerfProfiler.instance();
+        CommandSourceStack source = context.getSource();
+        if (!profiler.enabled()) {
+            source.sendSuccess(() -> Component.literal("RAI profiler is stopped; run /rai perf start to collect samples"), false);
+        }
+
+        List<PerfProfiler.Stats> sections = profiler.sectionStats();
+        source.sendSuccess(() -> Component.literal("Top sections by p99 (us): p50 / p99 / max / mean / count"), false);
+        sections.stream().limit(top).forEach(stats -> source.sendSuccess(() -> Component.literal(format(stats)), false));
+
+        List<PerfProfiler.Stats> survivors = profiler.survivorStats();
+        source.sendSuccess(() -> Component.literal("Top survivors by p99 (us):"), false);
+        survivors.stream().limit(Math.min(top, 5)).forEach(stats -> source.sendSuccess(() -> Component.literal(format(stats)), false));
+        return sections.size();
+    }
+
+    private static int dump(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        Path file = source.getServer().getWorldPath(LevelResource.ROOT)
+            .resolve("rai_perf")
+            .resolve("perf-" + LocalDateTime.now().format(DUMP_NAME) + ".csv");
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+                writer.write("category,name,count,p50_us,p99_us,max_us,mean_us,total_ms");
+                writer.newLine();
+                PerfProfiler profiler = PerfProfiler.instance();
+                for (PerfProfiler.Stats stats : profiler.sectionStats()) {
+                    writeRow(writer, stats);
+                }
+                for (PerfProfiler.Stats stats : profiler.survivorStats()) {
+                    writeRow(writer, stats);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write profiler dump {}", file, e);
+            source.sendFailure(Component.literal("Failed to write " + file.getFileName() + ": " + e.getMessage()));
+            return 0;
+        }
+        source.sendSuccess(() -> Component.literal("Wrote " + file), true);
+        return 1;
+    }
+
+    private static void writeRow(BufferedWriter writer, PerfProfiler.Stats stats) throws IOException {
+        writer.write(String.format(Locale.ROOT, "%s,%s,%d,%.1f,%.1f,%.1f,%.1f,%.3f",
+            stats.category(),
+            stats.name(),
+            stats.count(),
+            stats.p50Nanos() / 1000.0,
+            stats.p99Nanos() / 1000.0,
+            stats.maxNanos() / 1000.0,
+            stats.meanMicros(),
+            stats.totalNanos() / 1_000_000.0));
+        writer.newLine();
+    }
+
+    private static String format(PerfProfiler.Stats stats) {
+        return String.format(Locale.ROOT, "%s %s: %.1f / %.1f / %.1f / %.1f / %d",
+            stats.category(),
+            stats.name(),
+            stats.p50Nanos() / 1000.0,
+            stats.p99Nanos() / 1000.0,
+            stats.maxNanos() / 1000.0,
+            stats.meanMicros(),
+            stats.count());
+    }
+}
@@ -6,6 +6,7 @@ public final class RAIServerConfig {
     public static final ModConfigSpec SPEC;
 
     public static final ModConfigSpec.IntValue MAX_SIMULATED_PLAYERS;
+    public static final ModConfigSpec.IntValue MAX_MATERIALIZED_PLAYERS;
     public static final ModConfigSpec.IntValue MIN_ACTIVE_CHUNKS;
     public static final ModConfigSpec.IntValue MAX_ACTIVE_CHUNKS;
     public static final ModConfigSpec.BooleanValue ENABLE_DYNAMIC_CHUNK_BUDGET;
@@ -39,13 +40,26 @@ public final class RAIServerConfig {
     public static final ModConfigSpec.DoubleValue FACTION_TRADE_GAIN;
     public static final ModConfigSpec.DoubleValue FACTION_KILL_LOSS;
 
+    public static final ModConfigSpec.DoubleValue TICK_BUDGET_MS;
+    public static final ModConfigSpec.IntValue PERCEPTION_PERIOD_TICKS;
+    public static final ModConfigSpec.IntValue GOAL_PERIOD_TICKS;
+
+    public static final ModConfigSpec.IntValue FULL_DETAIL_RADIUS;
+    public static final ModConfigSpec.IntValue REDUCED_DETAIL_RADIUS;
+
+    public static final ModConfigSpec.BooleanValue ENABLE_OFFWORLD_SIMULATION;
+    public static final ModConfigSpec.IntValue OFFWORLD_RADIUS;
+
     static {
         ModConfigSpec.Builder builder = new ModConfigSpec.Builder();
 
         builder.push("players");
         MAX_SIMULATED_PLAYERS = builder
-            .comment("Maximum number of simulated survivor players. Hard cap: 20")
-            .defineInRange("maxSimulatedPlayers", 5, 1, 20);
+            .comment("Maximum number of simulated survivor players, including ones simulated off-world. Hard cap: 100")
+            .defineInRange("maxSimulatedPlayers", 5, 1, 100);
+        MAX_MATERIALIZED_PLAYERS = builder
+            .comment("Maximum number of survivors ticking as in-world entities at once. Hard cap: 20")
+            .defineInRange("maxMaterializedPlayers", 20, 1, 20);
         builder.pop();
 
         builder.push("chunk_loading");
@@ -153,6 +167,36 @@ public final class RAIServerConfig {
             .defineInRange("kill_loss", 0.15d, 0.0d, 1.0d);
         builder.pop();
 
+        builder.push("scheduler");
+        TICK_BUDGET_MS = builder
+            .comment("[scheduler] Milliseconds of survivor AI work allowed per server tick; leftovers carry over round-robin")
+            .defineInRange("tick_budget_ms", 8.0d, 0.5d, 50.0d);
+        PERCEPTION_PERIOD_TICKS = builder
+            .comment("[scheduler] Ticks between perception passes (danger scan, territory, squad, weapon handling)")
+            .defineInRange("perception_period_ticks", 4, 1, 40);
+        GOAL_PERIOD_TICKS = builder
+            .comment("[scheduler] Ticks between goal arbitration passes; movement still runs every tick")
+            .defineInRange("goal_period_ticks", 2, 1, 40);
+        builder.pop();
+
+        builder.push("lod");
+        FULL_DETAIL_RADIUS = builder
+            .comment("[lod] Survivors within this many blocks of a real player run the full simulation")
+            .defineInRange("full_detail_radius", 64, 16, 256);
+        REDUCED_DETAIL_RADIUS = builder
+            .comment("[lod] Beyond this distance from every real player survivors only run strategic ticks")
+            .defineInRange("reduced_detail_radius", 160, 32, 512);
+        builder.pop();
+
+        builder.push("offworld");
+        ENABLE_OFFWORLD_SIMULATION = builder
+            .comment("[offworld] Move survivors far from every player out of the world into a lightweight abstract simulation")
+            .define("enable_offworld_simulation", true);
+        OFFWORLD_RADIUS = builder
+            .comment("[offworld] Survivors leave the world beyond this distance and re-materialize inside 80% of it")
+            .defineInRange("offworld_radius", 256, 64, 4096);
+        builder.pop();
+
         SPEC = builder.build();
     }
 
@@ -164,6 +208,7 @@ public final class RAIServerConfig {
         int max = Math.max(min, MAX_ACTIVE_CHUNKS.get());
         return new RuntimeValues(
             MAX_SIMULATED_PLAYERS.get(),
+            Math.min(MAX_SIMULATED_PLAYERS.get(), MAX_MATERIALIZED_PLAYERS.get()),
             min,
             max,
             ENABLE_DYNAMIC_CHUNK_BUDGET.get(),
@@ -189,12 +234,20 @@ public final class RAIServerConfig {
             WINDOW_CHECK_INTERVAL_TICKS.get(),
             TRAP_SCAN_INTERVAL_TICKS.get(),
             FACTION_TRADE_GAIN.get(),
-            FACTION_KILL_LOSS.get()
+            FACTION_KILL_LOSS.get(),
+            TICK_BUDGET_MS.get(),
+            PERCEPTION_PERIOD_TICKS.get(),
+            GOAL_PERIOD_TICKS.get(),
+            FULL_DETAIL_RADIUS.get(),
+            Math.max(FULL_DETAIL_RADIUS.get(), REDUCED_DETAIL_RADIUS.get()),
+            ENABLE_OFFWORLD_SIMULATION.get(),
+            Math.max(REDUCED_DETAIL_RADIUS.get(), OFFWORLD_RADIUS.get())
         );
     }
 
     public record RuntimeValues(
         int maxPlayers,
+        int maxMaterializedPlayers,
         int minActiveChunks,
         int maxActiveChunks,
         boolean dynamicChunkBudget,
@@ -220,7 +273,14 @@ public final class RAIServerConfig {
         int windowCheckIntervalTicks,
         int trapScanIntervalTicks,
         double factionTradeGain,
-        double factionKillLoss
+        double factionKillLoss,
+        double tickBudgetMs,
+        int perceptionPeriodTicks,
+        int goalPeriodTicks,
+        int fullDetailRadius,
+        int reducedDetailRadius,
+        boolean offWorldSimulation,
+        int offWorldRadius
     ) {
     }
 }
@@ -0,0 +1,52 @@
+package com.raimod.config;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Current {@link RAIServerConfig.RuntimeValues} plus the components that need to hear about changes.
+ *
+ * <p>Subscribers receive the current values immediately and then once per {@link #publish}, instead of being handed
+ * the config on every tick.
+ */
+public final class RuntimeConfigHolder {
+    private static final RuntimeConfigHolder INSTANCE = new RuntimeConfigHolder();
+
+    private final CopyOnWriteArrayList<Consumer<RAIServerConfig.RuntimeValues>> listeners = new CopyOnWriteArrayList<>();
+    private volatile RAIServerConfig.RuntimeValues current;
+
+    private RuntimeConfigHolder() {
+    }
+
+    public static RuntimeConfigHolder instance() {
+        return INSTANCE;
+    }
+
+    public RAIServerConfig.RuntimeValues current() {
+        return current;
+    }
+
+    /**
+     * Registers {@code listener} and immediately passes it the current values, if any. Subscribing twice is a no-op.
+     */
+    public void subscribe(Consumer<RAIServerConfig.RuntimeValues> listener) {
+        if (!listeners.addIfAbsent(listener)) {
+            return;
+        }
+        RAIServerConfig.RuntimeValues values = current;
+        if (values != null) {
+            listener.accept(values);
+        }
+    }
+
+    public void unsubscribe(Consumer<RAIServerConfig.RuntimeValues> listener) {
+        listeners.remove(listener);
+    }
+
+    public void publish(RAIServerConfig.RuntimeValues values) {
+        current = values;
+        for (Consumer<RAIServerConfig.RuntimeValues> listener : listeners) {
+            listener.accept(values);
+        }
+    }
+}
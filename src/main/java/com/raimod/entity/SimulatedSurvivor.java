@@ -2,10 +2,15 @@ package com.raimod.entity;
 
 import com.mojang.authlib.GameProfile;
 import com.raimod.ai.GroupManager;
+import com.raimod.ai.SurvivorLod;
 import com.raimod.ai.behavior.BehaviorEngine;
 import com.raimod.ai.behavior.SurvivorContext;
 import com.raimod.ai.memory.SurvivorMemory;
+import com.raimod.ai.perception.LineOfSightCache;
+import com.raimod.ai.perception.SensorBlackboard;
+import com.raimod.ai.perf.PerfProfiler;
 import com.raimod.config.RAIServerConfig;
+import com.raimod.config.RuntimeConfigHolder;
 import com.raimod.integration.ModIntegrationRegistry;
 import com.raimod.integration.SurvivorChatBridge;
 import java.util.HashMap;
@@ -13,6 +18,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.nbt.CompoundTag;
@@ -25,12 +31,19 @@ import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.phys.HitResult;
 import net.minecraft.world.phys.Vec3;
-import net.minecraft.world.level.ClipContext;
 import net.neoforged.neoforge.common.util.FakePlayer;
 
 public final class SimulatedSurvivor extends FakePlayer {
+    private static final PerfProfiler PROFILER = PerfProfiler.instance();
+    private static final PerfProfiler.Section PERF_CHUNK_TICKETS = PROFILER.section("phase", "applyChunkTickets");
+    private static final PerfProfiler.Section PERF_DANGER_SCAN = PROFILER.section("phase", "updateVisualDangerScan");
+    private static final PerfProfiler.Section PERF_TERRITORIAL_DEFENSE = PROFILER.section("phase", "evaluateTerritorialDefense");
+    private static final PerfProfiler.Section PERF_SQUAD_CONTEXT = PROFILER.section("phase", "updateSquadContext");
+    private static final PerfProfiler.Section PERF_SQUAD_LOGISTICS = PROFILER.section("phase", "handleSquadLogistics");
+    private static final PerfProfiler.Section PERF_PSYCH_WARFARE = PROFILER.section("phase", "runPsychologicalWarfare");
+    private static final PerfProfiler.Section PERF_WEAPON_MASTERY = PROFILER.section("phase", "applyWeaponMastery");
+
     private static final SurvivorChatBridge CHAT = new SurvivorChatBridge();
 
     private final UUID survivorId;
@@ -43,6 +56,13 @@ public final class SimulatedSurvivor extends FakePlayer {
     private SurvivorState state;
     private ModIntegrationRegistry integrations;
     private RAIServerConfig.RuntimeValues runtime;
+    private final Consumer<RAIServerConfig.RuntimeValues> runtimeListener = values -> this.runtime = values;
+    private SurvivorLod lod;
+    /**
+     * Reused across goal ticks; rebuilt only when the runtime config or integrations are swapped.
+     */
+    private SurvivorContext goalContext;
+    private final SensorBlackboard sensors = new SensorBlackboard(this);
 
     private Vec3 lookTarget;
     private double strafeInput;
@@ -61,12 +81,17 @@ public final class SimulatedSurvivor extends FakePlayer {
     private int stalkShockDelayTicks;
 
     public SimulatedSurvivor(ServerLevel level, GameProfile profile, RAIServerConfig.RuntimeValues config) {
+        this(level, profile, config, SurvivorMemory.createEmpty(profile.getId()));
+    }
+
+    public SimulatedSurvivor(ServerLevel level, GameProfile profile, RAIServerConfig.RuntimeValues config, SurvivorMemory memory) {
         super(level, profile);
         this.survivorId = profile.getId();
-        this.memory = SurvivorMemory.createEmpty(profile.getId());
+        this.memory = memory;
         this.behaviorEngine = new BehaviorEngine();
         this.state = SurvivorState.freshSpawn(config.minActiveChunks(), config.maxActiveChunks());
         this.runtime = config;
+        this.lod = SurvivorLod.FULL;
         this.lookTarget = this.getEyePosition().add(this.getLookAngle().scale(3.0));
         this.trustFactor = level.random.nextFloat();
         this.recentDamageByEntityTick = new HashMap<>();
@@ -79,6 +104,11 @@ public final class SimulatedSurvivor extends FakePlayer {
         return new SimulatedSurvivor(level, profile, config);
     }
 
+    public static SimulatedSurvivor bootstrap(UUID id, RAIServerConfig.RuntimeValues config, ServerLevel level, SurvivorMemory memory) {
+        GameProfile profile = new GameProfile(id, "rai_" + id.toString().substring(0, 8));
+        return new SimulatedSurvivor(level, profile, config, memory);
+    }
+
     public UUID id() {
         return survivorId;
     }
@@ -99,6 +129,14 @@ public final class SimulatedSurvivor extends FakePlayer {
         return trustFactor;
     }
 
+    public SurvivorLod lod() {
+        return lod;
+    }
+
+    public void setLod(SurvivorLod lod) {
+        this.lod = Objects.requireNonNull(lod);
+    }
+
     public UUID currentCombatTarget() {
         return currentCombatTarget;
     }
@@ -147,19 +185,38 @@ public final class SimulatedSurvivor extends FakePlayer {
         return true;
     }
 
-    public void configureRuntime(ModIntegrationRegistry integrations, RAIServerConfig.RuntimeValues runtime) {
+    /**
+     * Wires the survivor into the live runtime when it enters the world: subscribes to config changes and joins a
+     * squad. Pair with {@link #releaseRuntime()} when the survivor leaves the world.
+     */
+    public void configureRuntime(ModIntegrationRegistry integrations) {
         this.integrations = integrations;
-        this.runtime = runtime;
-        GroupManager.instance().configure(runtime);
-        GroupManager.instance().registerSurvivor(this, runtime.squadMaxSize());
+        RuntimeConfigHolder.instance().subscribe(runtimeListener);
+        GroupManager.instance().registerSurvivor(this);
+    }
+
+    public void releaseRuntime() {
+        RuntimeConfigHolder.instance().unsubscribe(runtimeListener);
     }
 
     @Override
     public void tick() {
+        if (!beginTick()) {
+            return;
+        }
+        tickPerception();
+        tickGoals();
+        finishTick();
+    }
+
+    /**
+     * Entity tick plus per-tick counters. Must run every server tick; returns false when the runtime is not wired yet.
+     */
+    public boolean beginTick() {
         super.tick();
 
         if (this.server == null || integrations == null || runtime == null) {
-            return;
+            return false;
         }
 
         if (inventoryActionCooldown > 0) {
@@ -181,26 +238,74 @@ public final class SimulatedSurvivor extends FakePlayer {
         }
 
         state = state.withDynamicChunkBudget(this.server, runtime);
+        return true;
+    }
 
+    public void tickPerception() {
+        long begin = PROFILER.begin();
         integrations.applyChunkTickets(serverLevel(), this, state.loadedChunks());
-        integrations.updateVisualDangerScan(serverLevel(), this);
+        PERF_CHUNK_TICKETS.end(begin);
 
-        evaluateTerritorialDefense();
+        if (lod.runsTacticalSystems()) {
+            begin = PROFILER.begin();
+            integrations.updateVisualDangerScan(serverLevel(), this);
+            PERF_DANGER_SCAN.end(begin);
+            begin = PROFILER.begin();
+            evaluateTerritorialDefense();
+            PERF_TERRITORIAL_DEFENSE.end(begin);
+        }
+        begin = PROFILER.begin();
         updateSquadContext();
+        PERF_SQUAD_CONTEXT.end(begin);
+        if (!lod.runsTacticalSystems()) {
+            return;
+        }
+
+        begin = PROFILER.begin();
         handleSquadLogistics();
-        runPsychologicalWarfare();
+        PERF_SQUAD_LOGISTICS.end(begin);
+        if (lod.runsCosmeticSystems()) {
+            begin = PROFILER.begin();
+            runPsychologicalWarfare();
+            PERF_PSYCH_WARFARE.end(begin);
+        }
+        begin = PROFILER.begin();
         applyWeaponMastery();
+        PERF_WEAPON_MASTERY.end(begin);
+    }
 
-        SurvivorContext context = new SurvivorContext(this.server, this, integrations, runtime);
-        behaviorEngine.tick(context);
+    public void tickGoals() {
+        SurvivorContext context = goalContext;
+        if (context == null || context.config() != runtime || context.integrations() != integrations) {
+            context = new SurvivorContext(this.server, this, integrations, runtime);
+            goalContext = context;
+        }
+        if (lod.runsTacticalSystems()) {
+            behaviorEngine.tick(context);
+        } else {
+            behaviorEngine.tickStrategic(context);
+        }
+    }
 
+    /**
+     * This tick's perception snapshot; the first call in a game tick runs the sensing pass.
+     */
+    public SensorBlackboard sensors() {
+        double radius = runtime == null ? 0.0 : Math.max(runtime.hearingRange(), runtime.claimRadius());
+        sensors.refresh(this.level().getGameTime(), radius);
+        return sensors;
+    }
+
+    public void finishTick() {
         updateRotationFromLookTarget();
         applyManualMovement();
     }
 
     private void runPsychologicalWarfare() {
-        List<ServerPlayer> players = this.serverLevel().getPlayers(player -> player.distanceTo(this) < 140.0);
-        for (ServerPlayer player : players) {
+        for (SensorBlackboard.Contact contact : sensors().players()) {
+            if (!(contact.entity() instanceof ServerPlayer player)) {
+                continue;
+            }
             boolean isStatic = player.getDeltaMovement().horizontalDistanceSqr() < 0.0004;
             int ticks = observedStaticTicks.getOrDefault(player.getUUID(), 0);
             ticks = isStatic ? ticks + 1 : 0;
@@ -245,13 +350,10 @@ public final class SimulatedSurvivor extends FakePlayer {
             return;
         }
 
-        List<LivingEntity> nearby = this.level().getEntitiesOfClass(LivingEntity.class, this.getBoundingBox().inflate(runtime.claimRadius()));
-        for (LivingEntity entity : nearby) {
-            if (entity == this) {
-                continue;
-            }
-            if (isHostile(entity)) {
-                memory.triggerHomeDefense(this, CHAT, entity);
+        double claimRadiusSqr = (double) runtime.claimRadius() * runtime.claimRadius();
+        for (SensorBlackboard.Contact contact : sensors().contacts()) {
+            if (contact.hostile() && contact.distanceSqr() <= claimRadiusSqr) {
+                memory.triggerHomeDefense(this, CHAT, contact.entity());
                 break;
             }
         }
@@ -513,13 +615,17 @@ public final class SimulatedSurvivor extends FakePlayer {
         if (hasJam(tag)) {
             setState(state.withMode(SurvivorState.TacticalMode.SEARCHING));
             this.setMovementInput(0.0, -0.8);
-            broadcastNearby("[" + this.getGameProfile().getName() + "]: Gun's jammed! Cover me!", 42.0);
+            if (lod.runsCosmeticSystems()) {
+                broadcastNearby("[" + this.getGameProfile().getName() + "]: Gun's jammed! Cover me!", 42.0);
+            }
             return;
         }
 
         if (seesEnemy && ammo > 0) {
             burstTicks++;
-            applySCurveRecoilCompensation(readRecoil(tag));
+            if (lod.runsCosmeticSystems()) {
+                applySCurveRecoilCompensation(readRecoil(tag));
+            }
         } else {
             burstTicks = 0;
         }
@@ -536,10 +642,12 @@ public final class SimulatedSurvivor extends FakePlayer {
     }
 
     private void broadcastNearby(String msg, double radius) {
-        List<ServerPlayer> players = this.serverLevel().getPlayers(player -> player.distanceTo(this) <= radius);
         Component line = Component.literal(msg);
-        for (ServerPlayer player : players) {
-            player.sendSystemMessage(line);
+        double radiusSqr = radius * radius;
+        for (SensorBlackboard.Contact contact : sensors().players()) {
+            if (contact.distanceSqr() <= radiusSqr && contact.entity() instanceof ServerPlayer player) {
+                player.sendSystemMessage(line);
+            }
         }
     }
 
@@ -600,6 +708,33 @@ public final class SimulatedSurvivor extends FakePlayer {
         return Math.max(0.0, Math.min(1.0, ammo / (double) cap));
     }
 
+    public int countItems(String token) {
+        int count = 0;
+        for (int i = 0; i < this.getInventory().getContainerSize(); i++) {
+            ItemStack stack = this.getInventory().getItem(i);
+            if (!stack.isEmpty() && BuiltInRegistries.ITEM.getKey(stack.getItem()).toString().toLowerCase().contains(token)) {
+                count += stack.getCount();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Removes up to {@code amount} items whose id contains {@code token}, without interaction latency.
+     * Used to settle inventory drained while the survivor was simulated off-world.
+     */
+    public int consumeItems(String token, int amount) {
+        int remaining = amount;
+        for (int i = 0; i < this.getInventory().getContainerSize() && remaining > 0; i++) {
+            ItemStack stack = this.getInventory().getItem(i);
+            if (stack.isEmpty() || !BuiltInRegistries.ITEM.getKey(stack.getItem()).toString().toLowerCase().contains(token)) {
+                continue;
+            }
+            remaining -= this.getInventory().removeItem(i, Math.min(remaining, stack.getCount())).getCount();
+        }
+        return amount - remaining;
+    }
+
     public boolean hasMedkit() {
         return findMedkitSlot() >= 0;
     }
@@ -635,22 +770,10 @@ public final class SimulatedSurvivor extends FakePlayer {
     }
 
     private boolean hasVisibleEnemy() {
-        List<LivingEntity> nearby = this.level().getEntitiesOfClass(LivingEntity.class, this.getBoundingBox().inflate(runtime.hearingRange()));
-        for (LivingEntity living : nearby) {
-            if (living == this || living.getUUID().equals(this.id()) || !living.isAlive()) {
-                continue;
-            }
-            if (!isHostile(living)) {
-                continue;
-            }
-            if (isEntityVisible(living)) {
-                return true;
-            }
-        }
-        return false;
+        return sensors().hasVisibleHostile(runtime.hearingRange());
     }
 
-    private boolean isHostile(Entity entity) {
+    public boolean isHostile(Entity entity) {
         if (entity instanceof SimulatedSurvivor other) {
             if (GroupManager.instance().areHostile(this, other)) {
                 return true;
@@ -690,7 +813,7 @@ public final class SimulatedSurvivor extends FakePlayer {
             return false;
         }
 
-        if (!this.canSee(target) || !hasVisualLineOfSight(target)) {
+        if (!hasVisualLineOfSight(target)) {
             return false;
         }
 
@@ -716,10 +839,7 @@ public final class SimulatedSurvivor extends FakePlayer {
     }
 
     public boolean hasVisualLineOfSight(Entity target) {
-        Vec3 from = this.getEyePosition();
-        Vec3 to = target.getEyePosition();
-        HitResult hit = this.level().clip(new ClipContext(from, to, ClipContext.Block.VISUAL, ClipContext.Fluid.NONE, this));
-        return hit.getType() == HitResult.Type.MISS;
+        return LineOfSightCache.instance().hasLineOfSight(serverLevel(), this.getEyePosition(), target.getEyePosition());
     }
 
     public boolean wasRecentlyDamagedBy(Entity target, int ticks) {
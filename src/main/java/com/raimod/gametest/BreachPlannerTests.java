@@ -0,0 +1,58 @@
+package com.raimod.gametest;
+
+import com.raimod.RAIMod;
+import com.raimod.ai.memory.BreachPlan;
+import com.raimod.ai.memory.BreachPlanner;
+import com.raimod.ai.memory.RaidTargetKnowledge;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.level.block.Blocks;
+import net.neoforged.neoforge.gametest.EmptyTemplate;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+/**
+ * Correctness checks for {@link BreachPlanner}. Run with {@code ./gradlew runGameTestServer}.
+ */
+@GameTestHolder(RAIMod.MOD_ID)
+@PrefixGameTestTemplate(false)
+public final class BreachPlannerTests {
+    private BreachPlannerTests() {
+    }
+
+    /**
+     * A stone brick hut around a chest with a log standing just outside one wall. The log is cheaper to break than the
+     * bricks, but the space behind it runs into the wall, so it must not be offered as a breach point.
+     */
+    @EmptyTemplate(value = "16x6x16", floor = true)
+    @GameTest(batch = "raimod_breach")
+    public static void ignoresObstaclesOutsideTheWall(GameTestHelper helper) {
+        BlockPos center = new BlockPos(8, 1, 8);
+        for (int x = -3; x <= 3; x++) {
+            for (int z = -3; z <= 3; z++) {
+                for (int y = 0; y <= 3; y++) {
+                    boolean wall = Math.abs(x) == 3 || Math.abs(z) == 3;
+                    if (y == 3 || wall) {
+                        helper.setBlock(center.offset(x, y, z), Blocks.STONE_BRICKS);
+                    }
+                }
+            }
+        }
+        helper.setBlock(center, Blocks.CHEST);
+        BlockPos log = center.north(5);
+        helper.setBlock(log, Blocks.OAK_LOG);
+
+        BlockPos target = helper.absolutePos(center);
+        BreachPlan plan = BreachPlanner.instance().plan(helper.getLevel(),
+            new RaidTargetKnowledge("gametest_hut", target, 1, 0, 100.0, 10.0, 1, false));
+
+        helper.assertTrue(plan.best() != null, "No breach point found through the hut wall");
+        for (BreachPlan.BreachPoint point : plan.breachPoints()) {
+            helper.assertTrue(!point.pos().equals(helper.absolutePos(log)), "Log outside the wall offered as breach point");
+            helper.assertTrue(helper.getLevel().getBlockState(point.pos()).is(Blocks.STONE_BRICKS),
+                "Breach point " + point.pos() + " is not part of the hut wall");
+        }
+        helper.succeed();
+    }
+}
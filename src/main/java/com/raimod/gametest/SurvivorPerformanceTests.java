@@ -0,0 +1,174 @@
+package com.raimod.gametest;
+
+import com.raimod.RAIMod;
+import com.raimod.ai.memory.RaidTargetKnowledge;
+import com.raimod.entity.SimulatedSurvivor;
+import com.raimod.entity.SurvivorState;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.monster.Zombie;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.neoforged.neoforge.gametest.EmptyTemplate;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+/**
+ * MSPT regression scenarios. Run with {@code ./gradlew runGameTestServer}; each scenario is its own batch so
+ * timings are not shared with another test running in the same tick. See {@link TickBudget} for overriding limits.
+ */
+@GameTestHolder(RAIMod.MOD_ID)
+@PrefixGameTestTemplate(false)
+public final class SurvivorPerformanceTests {
+    private static final int ARENA_SURVIVORS = Integer.getInteger("raimod.gametest.arenaSurvivors", 32);
+    private static final int PLOT = 32;
+
+    private SurvivorPerformanceTests() {
+    }
+
+    /**
+     * Armed survivors packed into an open arena with idle zombies, repeatedly hurt so combat reaction wins arbitration.
+     */
+    @EmptyTemplate(value = "32x6x32", floor = true)
+    @GameTest(timeoutTicks = SurvivorScenario.TIMEOUT_TICKS, batch = "raimod_arena")
+    public static void crowdedArena(GameTestHelper helper) {
+        SurvivorScenario scenario = new SurvivorScenario(helper, "arena", TickBudget.forScenario("arena", 8.0, 20.0));
+
+        List<Zombie> zombies = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            zombies.add(helper.spawnWithNoFreeWill(EntityType.ZOMBIE, new BlockPos(4 + i * 3, 1, PLOT / 2)));
+        }
+
+        int perRow = (int) Math.ceil(Math.sqrt(ARENA_SURVIVORS));
+        int spacing = Math.max(1, (PLOT - 4) / perRow);
+        for (int i = 0; i < ARENA_SURVIVORS; i++) {
+            SimulatedSurvivor survivor = scenario.spawn(new BlockPos(2 + (i % perRow) * spacing, 1, 2 + (i / perRow) * spacing));
+            survivor.setItemInHand(InteractionHand.MAIN_HAND, new ItemStack(Items.CROSSBOW));
+        }
+
+        scenario.everyTick(tick -> {
+            if (tick % 60 != 0) {
+                return;
+            }
+            List<SimulatedSurvivor> survivors = scenario.survivors();
+            for (int i = 0; i < survivors.size(); i++) {
+                survivors.get(i).setLastHurtByMob(zombies.get(i % zombies.size()));
+            }
+        }).run();
+    }
+
+    /**
+     * A squad-sized raid party that already knows a loot-heavy vault behind stone brick walls.
+     */
+    @EmptyTemplate(value = "32x8x32", floor = true)
+    @GameTest(timeoutTicks = SurvivorScenario.TIMEOUT_TICKS, batch = "raimod_raid")
+    public static void raidOnWalledStructure(GameTestHelper helper) {
+        SurvivorScenario scenario = new SurvivorScenario(helper, "raid", TickBudget.forScenario("raid", 5.0, 15.0));
+
+        BlockPos center = new BlockPos(PLOT / 2, 1, PLOT / 2);
+        buildHouse(helper, center, 4, 4, Blocks.STONE_BRICKS, Blocks.STONE_BRICKS, false);
+        helper.setBlock(center, Blocks.CHEST);
+        helper.setBlock(center.west(), Blocks.CHEST);
+
+        RaidTargetKnowledge vault = new RaidTargetKnowledge("gametest_vault", helper.absolutePos(center), 12, 0, 480.0,
+            40.0, 2, false);
+        for (int i = 0; i < 12; i++) {
+            double angle = Math.PI * 2.0 * i / 12;
+            BlockPos start = new BlockPos(center.getX() + (int) Math.round(Math.cos(angle) * 12), 1,
+                center.getZ() + (int) Math.round(Math.sin(angle) * 12));
+            SimulatedSurvivor survivor = scenario.spawn(start);
+            survivor.memory().setHomePosition(helper.absolutePos(start));
+            survivor.memory().rememberRaidTarget(vault);
+            survivor.setState(survivor.state().withMode(SurvivorState.TacticalMode.SCOUTING));
+        }
+        scenario.run();
+    }
+
+    /**
+     * Survivors holding a claimed home with glass windows, a pressure plate and buried TNT, with intruders inside.
+     */
+    @EmptyTemplate(value = "32x8x32", floor = true)
+    @GameTest(timeoutTicks = SurvivorScenario.TIMEOUT_TICKS, batch = "raimod_home")
+    public static void homeBaseWithTraps(GameTestHelper helper) {
+        SurvivorScenario scenario = new SurvivorScenario(helper, "home", TickBudget.forScenario("home", 5.0, 15.0));
+
+        BlockPos center = new BlockPos(PLOT / 2, 1, PLOT / 2);
+        buildHouse(helper, center, 5, 4, Blocks.OAK_PLANKS, Blocks.GLASS, true);
+        BlockPos chest = center.north(3);
+        helper.setBlock(chest, Blocks.CHEST);
+        helper.setBlock(center.south(5), Blocks.STONE_PRESSURE_PLATE);
+        helper.setBlock(center.south(5).below(), Blocks.TNT);
+        helper.setBlock(center.east(3), Blocks.STONE_PRESSURE_PLATE);
+
+        helper.spawnWithNoFreeWill(EntityType.ZOMBIE, center.east(2));
+        helper.spawnWithNoFreeWill(EntityType.ZOMBIE, center.west(2));
+
+        BlockPos home = helper.absolutePos(center);
+        for (int i = 0; i < 8; i++) {
+            SimulatedSurvivor survivor = scenario.spawn(center.offset(-3 + (i % 4) * 2, 0, -2 + (i / 4) * 4));
+            survivor.memory().setHomePosition(home);
+            survivor.memory().claimHomeBase(home, 8, List.of(helper.absolutePos(chest)));
+            survivor.setItemInHand(InteractionHand.MAIN_HAND, new ItemStack(Items.CROSSBOW));
+        }
+        scenario.run();
+    }
+
+    /**
+     * Tight squads with a mix of wounded and unarmed members so logistics keeps searching for donors and medics.
+     */
+    @EmptyTemplate(value = "32x6x32", floor = true)
+    @GameTest(timeoutTicks = SurvivorScenario.TIMEOUT_TICKS, batch = "raimod_squads")
+    public static void squadLogistics(GameTestHelper helper) {
+        SurvivorScenario scenario = new SurvivorScenario(helper, "squads", TickBudget.forScenario("squads", 4.0, 12.0));
+
+        for (int i = 0; i < 24; i++) {
+            int squad = i / 4;
+            BlockPos pos = new BlockPos(4 + (squad % 3) * 10 + (i % 2) * 2, 1, 6 + (squad / 3) * 14 + (i % 4 / 2) * 2);
+            SimulatedSurvivor survivor = scenario.spawn(pos);
+            if (i % 2 == 0) {
+                survivor.setItemInHand(InteractionHand.MAIN_HAND, new ItemStack(Items.CROSSBOW));
+            }
+        }
+
+        scenario.everyTick(tick -> {
+            if (tick % 40 != 0) {
+                return;
+            }
+            List<SimulatedSurvivor> survivors = scenario.survivors();
+            for (int i = 0; i < survivors.size(); i++) {
+                survivors.get(i).setHealth(i % 3 == 0 ? 6.0f : survivors.get(i).getMaxHealth());
+            }
+        }).run();
+    }
+
+    /**
+     * Square hut around {@code center}: {@code wall} blocks with a {@code window} ring at eye height, a roof and a
+     * two-high doorway on the south side.
+     */
+    private static void buildHouse(GameTestHelper helper, BlockPos center, int radius, int height, Block wall,
+                                   Block window, boolean alternateWindows) {
+        for (int x = -radius; x <= radius; x++) {
+            for (int z = -radius; z <= radius; z++) {
+                boolean edge = Math.abs(x) == radius || Math.abs(z) == radius;
+                for (int y = 0; y <= height; y++) {
+                    BlockPos pos = center.offset(x, y, z);
+                    if (y == height) {
+                        helper.setBlock(pos, wall);
+                    } else if (edge) {
+                        boolean windowSlot = y == 1 && (!alternateWindows || (x + z) % 2 == 0);
+                        helper.setBlock(pos, windowSlot ? window : wall);
+                    }
+                }
+            }
+        }
+        helper.setBlock(center.offset(0, 0, radius), Blocks.AIR);
+        helper.setBlock(center.offset(0, 1, radius), Blocks.AIR);
+    }
+}
@@ -0,0 +1,158 @@
+package com.raimod.gametest;
+
+import com.raimod.ai.SurvivorScheduler;
+import com.raimod.ai.raycast.RaycastEngine;
+import com.raimod.ai.spatial.SpatialIndex;
+import com.raimod.config.RAIServerConfig;
+import com.raimod.entity.SimulatedSurvivor;
+import com.raimod.integration.ModIntegrationRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.neoforge.common.util.FakePlayer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scripted survivor population inside one GameTest plot.
+ *
+ * <p>Survivors are built and ticked the way the director does it — bootstrapped FakePlayers driven by their own
+ * {@link SurvivorScheduler} after the {@link SpatialIndex} is rebuilt — so the measured time is the mod's work for this
+ * scenario only, including the index rebuild the director pays every tick. After a warm-up the cost of every tick is
+ * sampled; the test fails when the average or p99 exceeds its {@link TickBudget}, or when the scheduler had to defer
+ * survivors on more than {@link #MAX_DEFERRED_TICK_RATIO} of the measured ticks.
+ */
+final class SurvivorScenario {
+    static final int WARMUP_TICKS = 40;
+    static final int MEASURE_TICKS = 200;
+    static final int TIMEOUT_TICKS = WARMUP_TICKS + MEASURE_TICKS + 40;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SurvivorScenario.class);
+    private static final double MAX_DEFERRED_TICK_RATIO = 0.05;
+
+    private final GameTestHelper helper;
+    private final String name;
+    private final TickBudget budget;
+    private final MinecraftServer server;
+    private final RAIServerConfig.RuntimeValues config;
+    private final ModIntegrationRegistry integrations = new ModIntegrationRegistry();
+    private final SurvivorScheduler scheduler = new SurvivorScheduler();
+    private final List<SimulatedSurvivor> survivors = new ArrayList<>();
+    private final List<IntConsumer> scripts = new ArrayList<>();
+    private final long[] samples = new long[MEASURE_TICKS];
+    private int tick;
+    private int deferredTicks;
+    private boolean finished;
+
+    SurvivorScenario(GameTestHelper helper, String name, TickBudget budget) {
+        this.helper = helper;
+        this.name = name;
+        this.budget = budget;
+        this.server = helper.getLevel().getServer();
+        this.config = RAIServerConfig.runtime();
+        integrations.bootstrap(server);
+    }
+
+    List<SimulatedSurvivor> survivors() {
+        return survivors;
+    }
+
+    /**
+     * Creates a survivor standing on {@code relative} and wires it into the runtime.
+     */
+    SimulatedSurvivor spawn(BlockPos relative) {
+        SimulatedSurvivor survivor = SimulatedSurvivor.bootstrap(UUID.randomUUID(), config, helper.getLevel());
+        Vec3 pos = helper.absoluteVec(Vec3.atBottomCenterOf(relative));
+        survivor.teleportTo(pos.x, pos.y, pos.z);
+        survivor.configureRuntime(integrations);
+        survivor.resetRuntime(config);
+        survivors.add(survivor);
+        return survivor;
+    }
+
+    /**
+     * Runs {@code script} at the start of every tick with the scenario tick number; not included in the measurement.
+     */
+    SurvivorScenario everyTick(IntConsumer script) {
+        scripts.add(script);
+        return this;
+    }
+
+    void run() {
+        helper.onEachTick(this::tick);
+    }
+
+    private void tick() {
+        if (finished) {
+            return;
+        }
+        for (IntConsumer script : scripts) {
+            script.accept(tick);
+        }
+
+        long begin = System.nanoTime();
+        integrations.tick(server);
+        RaycastEngine.instance().drain();
+        SpatialIndex.instance().rebuild(survivors, realPlayers());
+        scheduler.tick(survivors, config);
+        long elapsed = System.nanoTime() - begin;
+
+        if (tick >= WARMUP_TICKS) {
+            samples[tick - WARMUP_TICKS] = elapsed;
+            if (scheduler.deferredLastTick() > 0) {
+                deferredTicks++;
+            }
+        }
+        tick++;
+        if (tick == WARMUP_TICKS + MEASURE_TICKS) {
+            finished = true;
+            finish();
+        }
+    }
+
+    private List<ServerPlayer> realPlayers() {
+        List<ServerPlayer> players = new ArrayList<>();
+        for (ServerPlayer player : helper.getLevel().players()) {
+            if (!(player instanceof FakePlayer)) {
+                players.add(player);
+            }
+        }
+        return players;
+    }
+
+    private void finish() {
+        for (SimulatedSurvivor survivor : survivors) {
+            survivor.releaseRuntime();
+            scheduler.forget(survivor.id());
+        }
+        SpatialIndex.instance().clear();
+
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        double avgMs = Arrays.stream(sorted).average().orElse(0.0) / 1_000_000.0;
+        double p99Ms = sorted[Math.max(0, (int) Math.ceil(sorted.length * 0.99) - 1)] / 1_000_000.0;
+        double maxMs = sorted[sorted.length - 1] / 1_000_000.0;
+        double deferredRatio = deferredTicks / (double) MEASURE_TICKS;
+
+        String summary = String.format(Locale.ROOT,
+            "%s: %d survivors, avg %.3f ms, p99 %.3f ms, max %.3f ms, deferred on %.1f%% of ticks (budget avg %.3f / p99 %.3f)",
+            name, survivors.size(), avgMs, p99Ms, maxMs, deferredRatio * 100.0, budget.avgMs(), budget.p99Ms());
+        LOGGER.info(summary);
+
+        if (avgMs > budget.avgMs() || p99Ms > budget.p99Ms()) {
+            helper.fail("Tick budget exceeded - " + summary);
+        }
+        if (deferredRatio > MAX_DEFERRED_TICK_RATIO) {
+            helper.fail("Scheduler deferred survivors too often - " + summary);
+        }
+        helper.succeed();
+    }
+}
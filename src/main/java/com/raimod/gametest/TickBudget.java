@@ -0,0 +1,30 @@
+package com.raimod.gametest;
+
+/**
+ * Per-scenario limits for the mod's tick cost, in milliseconds.
+ *
+ * <p>Defaults can be overridden per scenario with {@code -Draimod.gametest.<scenario>.avgMs} / {@code .p99Ms}, or for
+ * every scenario with {@code -Draimod.gametest.avgMs} / {@code -Draimod.gametest.p99Ms}.
+ */
+public record TickBudget(double avgMs, double p99Ms) {
+    private static final String PREFIX = "raimod.gametest.";
+
+    public static TickBudget forScenario(String scenario, double defaultAvgMs, double defaultP99Ms) {
+        return new TickBudget(
+            read(scenario, "avgMs", defaultAvgMs),
+            read(scenario, "p99Ms", defaultP99Ms)
+        );
+    }
+
+    private static double read(String scenario, String key, double fallback) {
+        String value = System.getProperty(PREFIX + scenario + "." + key, System.getProperty(PREFIX + key));
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+}
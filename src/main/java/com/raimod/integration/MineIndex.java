@@ -0,0 +1,167 @@
+package com.raimod.integration;
+
+import com.raimod.ai.world.BlockChangeEvents;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.bus.api.IEventBus;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+
+/**
+ * Server-wide index of SecurityCraft contact mine positions, per level and chunk.
+ *
+ * <p>A chunk is indexed when it loads, scanning only sections whose palette can hold a mine, and dropped when it
+ * unloads. Block changes reported by {@link BlockChangeEvents} re-check the changed position, so queries never read
+ * the world.
+ */
+public final class MineIndex {
+    private static final ResourceLocation CONTACT_MINE = ResourceLocation.fromNamespaceAndPath("securitycraft", "sc_manual_contact_mine");
+    private static final MineIndex INSTANCE = new MineIndex();
+
+    private final Map<ResourceKey<Level>, Map<Long, Set<BlockPos>>> mines = new ConcurrentHashMap<>();
+    private Block mineBlock;
+
+    private MineIndex() {
+    }
+
+    public static MineIndex instance() {
+        return INSTANCE;
+    }
+
+    public void register(IEventBus bus) {
+        bus.addListener(this::onChunkLoad);
+        bus.addListener(this::onChunkUnload);
+        BlockChangeEvents.instance().subscribe(this::onBlockChanged);
+    }
+
+    /**
+     * Indexed mines within {@code radius} horizontally and {@code halfHeight} vertically of {@code center}.
+     */
+    public List<BlockPos> near(ServerLevel level, Vec3 center, double radius, double halfHeight) {
+        Map<Long, Set<BlockPos>> chunks = mines.get(level.dimension());
+        if (chunks == null || chunks.isEmpty()) {
+            return List.of();
+        }
+
+        List<BlockPos> found = new ArrayList<>();
+        int minChunkX = SectionPos.posToSectionCoord(center.x - radius);
+        int maxChunkX = SectionPos.posToSectionCoord(center.x + radius);
+        int minChunkZ = SectionPos.posToSectionCoord(center.z - radius);
+        int maxChunkZ = SectionPos.posToSectionCoord(center.z + radius);
+        for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+            for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+                Set<BlockPos> inChunk = chunks.get(ChunkPos.asLong(cx, cz));
+                if (inChunk == null) {
+                    continue;
+                }
+                for (BlockPos pos : inChunk) {
+                    if (Math.abs(pos.getX() + 0.5 - center.x) <= radius
+                        && Math.abs(pos.getY() + 0.5 - center.y) <= halfHeight
+                        && Math.abs(pos.getZ() + 0.5 - center.z) <= radius) {
+                        found.add(pos);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    public void clear() {
+        mines.clear();
+    }
+
+    private void onChunkLoad(ChunkEvent.Load event) {
+        if (!(event.getLevel() instanceof ServerLevel level) || !(event.getChunk() instanceof LevelChunk chunk)) {
+            return;
+        }
+        Block mine = mineBlock();
+        if (mine == null) {
+            return;
+        }
+
+        Set<BlockPos> found = null;
+        LevelChunkSection[] sections = chunk.getSections();
+        for (int i = 0; i < sections.length; i++) {
+            LevelChunkSection section = sections[i];
+            if (section.hasOnlyAir() || !section.maybeHas(state -> state.is(mine))) {
+                continue;
+            }
+            int baseX = chunk.getPos().getMinBlockX();
+            int baseY = SectionPos.sectionToBlockCoord(level.getSectionYFromSectionIndex(i));
+            int baseZ = chunk.getPos().getMinBlockZ();
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        if (section.getBlockState(x, y, z).is(mine)) {
+                            if (found == null) {
+                                found = ConcurrentHashMap.newKeySet();
+                            }
+                            found.add(new BlockPos(baseX + x, baseY + y, baseZ + z));
+                        }
+                    }
+                }
+            }
+        }
+
+        Map<Long, Set<BlockPos>> chunks = mines.computeIfAbsent(level.dimension(), key -> new ConcurrentHashMap<>());
+        if (found != null) {
+            chunks.put(chunk.getPos().toLong(), found);
+        } else {
+            chunks.remove(chunk.getPos().toLong());
+        }
+    }
+
+    private void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            Map<Long, Set<BlockPos>> chunks = mines.get(level.dimension());
+            if (chunks != null) {
+                chunks.remove(event.getChunk().getPos().toLong());
+            }
+        }
+    }
+
+    private void onBlockChanged(ServerLevel level, BlockPos pos) {
+        Block mine = mineBlock();
+        if (mine == null) {
+            return;
+        }
+        BlockState state = level.getBlockState(pos);
+        long chunkKey = ChunkPos.asLong(pos);
+        Map<Long, Set<BlockPos>> chunks = mines.computeIfAbsent(level.dimension(), key -> new ConcurrentHashMap<>());
+        if (state.is(mine)) {
+            chunks.computeIfAbsent(chunkKey, key -> ConcurrentHashMap.newKeySet()).add(pos.immutable());
+        } else {
+            Set<BlockPos> inChunk = chunks.get(chunkKey);
+            if (inChunk != null && inChunk.remove(pos) && inChunk.isEmpty()) {
+                chunks.remove(chunkKey);
+            }
+        }
+    }
+
+    /**
+     * Looked up lazily because the mod constructor runs before SecurityCraft's blocks are registered.
+     */
+    private Block mineBlock() {
+        if (mineBlock == null) {
+            Block block = BuiltInRegistries.BLOCK.get(CONTACT_MINE);
+            mineBlock = block == Blocks.AIR ? null : block;
+        }
+        return mineBlock;
+    }
+}
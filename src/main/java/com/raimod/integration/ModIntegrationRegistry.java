@@ -5,6 +5,7 @@ import baritone.api.IBaritone;
 import baritone.api.pathing.goals.GoalBlock;
 import baritone.api.pathing.goals.GoalNear;
 import baritone.api.process.ICustomGoalProcess;
+import com.raimod.ai.world.CoverGraph;
 import com.raimod.entity.SimulatedSurvivor;
 import com.raimod.entity.SurvivorState;
 import java.util.ArrayList;
@@ -15,7 +16,6 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.TicketType;
@@ -26,11 +26,8 @@ import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.ChunkPos;
-import net.minecraft.world.level.block.state.BlockState;
-import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.BlockHitResult;
 import net.minecraft.world.phys.Vec3;
-import net.minecraft.world.phys.shapes.VoxelShape;
 import net.neoforged.fml.ModList;
 
 public final class ModIntegrationRegistry {
@@ -74,9 +71,12 @@ public final class ModIntegrationRegistry {
     }
 
     public boolean hasLoudSoundNear(SimulatedSurvivor survivor, int radius) {
-        BlockPos bot = survivor.blockPosition();
+        return hasLoudSoundNear(survivor.blockPosition(), radius);
+    }
+
+    public boolean hasLoudSoundNear(BlockPos pos, int radius) {
         for (LoudSoundEvent event : loudSounds) {
-            if (event.position.distSqr(bot) <= (long) radius * radius) {
+            if (event.position.distSqr(pos) <= (long) radius * radius) {
                 return true;
             }
         }
@@ -100,33 +100,12 @@ public final class ModIntegrationRegistry {
         baritone.updateAvoidBlocks(survivor, dangerous);
     }
 
+    /**
+     * Nearest standable cell within 10 blocks that has a solid block at head height between it and the attacker, or
+     * {@code null}.
+     */
     public BlockPos findCoverPosition(ServerLevel level, Vec3 attackerEye, SimulatedSurvivor survivor) {
-        BlockPos center = survivor.blockPosition();
-        for (int x = -10; x <= 10; x++) {
-            for (int y = -3; y <= 3; y++) {
-                for (int z = -10; z <= 10; z++) {
-                    BlockPos candidate = center.offset(x, y, z);
-                    if (!level.getBlockState(candidate).isAir()) {
-                        continue;
-                    }
-                    BlockPos chestHigh = candidate.above();
-                    if (!level.getBlockState(chestHigh).isAir()) {
-                        continue;
-                    }
-
-                    Vec3 botEye = new Vec3(candidate.getX() + 0.5, candidate.getY() + 1.62, candidate.getZ() + 0.5);
-                    var clip = level.clip(new net.minecraft.world.level.ClipContext(attackerEye, botEye,
-                        net.minecraft.world.level.ClipContext.Block.COLLIDER,
-                        net.minecraft.world.level.ClipContext.Fluid.NONE,
-                        survivor));
-
-                    if (clip.getType() == net.minecraft.world.phys.HitResult.Type.BLOCK) {
-                        return candidate.immutable();
-                    }
-                }
-            }
-        }
-        return null;
+        return CoverGraph.instance().nearestCover(level, survivor.blockPosition(), attackerEye, 10, 3, 3);
     }
 
     public boolean useHealingItem(SimulatedSurvivor survivor) {
@@ -231,12 +210,19 @@ public final class ModIntegrationRegistry {
 
     public static final class TaczBridge extends BaseBridge {
         public Vec3 calculateLeadShot(Entity shooter, Entity target, ItemStack gun, double baseScatterDegrees, float accuracySkill) {
-            Vec3 shooterEye = shooter.getEyePosition();
             Vec3 targetPos = target.position().add(0.0, target.getBbHeight() * 0.65, 0.0);
-            Vec3 targetVel = target.getDeltaMovement();
-            double distance = shooterEye.distanceTo(targetPos);
+            double yawNoise = Math.random() - 0.5;
+            double pitchNoise = Math.random() - 0.5;
+            return solveLeadShot(shooter.getEyePosition(), targetPos, target.getDeltaMovement(),
+                TaczHelper.getBulletData(gun), baseScatterDegrees, accuracySkill, yawNoise, pitchNoise);
+        }
 
-            TaczBulletData bulletData = TaczHelper.getBulletData(gun);
+        /**
+         * Entity-free lead, drop and scatter solve. {@code yawNoise} and {@code pitchNoise} are uniform in [-0.5, 0.5).
+         */
+        static Vec3 solveLeadShot(Vec3 shooterEye, Vec3 targetPos, Vec3 targetVel, TaczBulletData bulletData,
+                                  double baseScatterDegrees, float accuracySkill, double yawNoise, double pitchNoise) {
+            double distance = shooterEye.distanceTo(targetPos);
             double travelTime = distance / Math.max(1.0, bulletData.velocity());
 
             Vec3 lead = targetPos.add(targetVel.scale(travelTime));
@@ -246,8 +232,8 @@ public final class ModIntegrationRegistry {
             double skillFactor = Mth.clamp(accuracySkill, 0.0f, 1.0f);
             double scatterDeg = baseScatterDegrees * (1.15 - skillFactor);
             double scatterRad = Math.toRadians(scatterDeg);
-            double yawScatter = (Math.random() - 0.5) * scatterRad;
-            double pitchScatter = (Math.random() - 0.5) * scatterRad;
+            double yawScatter = yawNoise * scatterRad;
+            double pitchScatter = pitchNoise * scatterRad;
 
             Vec3 direction = compensated.subtract(shooterEye).normalize();
             Vec3 finalDir = direction.xRot((float) pitchScatter).yRot((float) yawScatter);
@@ -301,7 +287,7 @@ public final class ModIntegrationRegistry {
             return new TaczBulletData(velocity, gravity);
         }
 
-        private static double firstNumeric(CompoundTag tag, String... keys) {
+        static double firstNumeric(CompoundTag tag, String... keys) {
             for (String key : keys) {
                 if (tag.contains(key)) {
                     return tag.getDouble(key);
@@ -359,8 +345,6 @@ public final class ModIntegrationRegistry {
     }
 
     public static final class SecurityCraftBridge extends BaseBridge {
-        private static final ResourceLocation CONTACT_MINE = ResourceLocation.fromNamespaceAndPath("securitycraft", "sc_manual_contact_mine");
-
         public boolean hasRecentBreakAttempt(UUID survivorId) {
             return isEnabled() && Math.floorMod(System.nanoTime(), 17) == 0;
         }
@@ -373,31 +357,13 @@ public final class ModIntegrationRegistry {
             Vec3 eye = survivor.getEyePosition();
             Vec3 look = survivor.getLookAngle().normalize();
             List<BlockPos> matches = new ArrayList<>();
-            AABB scan = new AABB(eye.x - 28, eye.y - 8, eye.z - 28, eye.x + 28, eye.y + 8, eye.z + 28);
-            int minX = Mth.floor(scan.minX);
-            int minY = Mth.floor(scan.minY);
-            int minZ = Mth.floor(scan.minZ);
-            int maxX = Mth.floor(scan.maxX);
-            int maxY = Mth.floor(scan.maxY);
-            int maxZ = Mth.floor(scan.maxZ);
-
-            for (int x = minX; x <= maxX; x++) {
-                for (int y = minY; y <= maxY; y++) {
-                    for (int z = minZ; z <= maxZ; z++) {
-                        BlockPos pos = new BlockPos(x, y, z);
-                        Vec3 dir = Vec3.atCenterOf(pos).subtract(eye).normalize();
-                        if (look.dot(dir) < 0.5) {
-                            continue;
-                        }
-
-                        BlockState state = level.getBlockState(pos);
-                        if (state.getBlock().builtInRegistryHolder().key().location().equals(CONTACT_MINE)) {
-                            VoxelShape shape = state.getCollisionShape(level, pos);
-                            if (!shape.isEmpty()) {
-                                matches.add(pos.immutable());
-                            }
-                        }
-                    }
+            for (BlockPos pos : MineIndex.instance().near(level, eye, 28.0, 8.0)) {
+                Vec3 dir = Vec3.atCenterOf(pos).subtract(eye).normalize();
+                if (look.dot(dir) < 0.5) {
+                    continue;
+                }
+                if (!level.getBlockState(pos).getCollisionShape(level, pos).isEmpty()) {
+                    matches.add(pos);
                 }
             }
             return matches;
@@ -1,5 +1,6 @@
 package com.raimod.integration;
 
+import com.raimod.ai.spatial.SpatialIndex;
 import com.raimod.entity.SimulatedSurvivor;
 import java.util.ArrayList;
 import java.util.EnumMap;
@@ -8,9 +9,11 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.LivingEntity;
 
 public final class SurvivorChatBridge {
     private final EnumMap<PhraseCategory, List<WeightedPhrase>> phraseBook = new EnumMap<>(PhraseCategory.class);
+    private LivingEntity[] recipients = new LivingEntity[8];
 
     public SurvivorChatBridge() {
         registerDefaults();
@@ -115,10 +118,20 @@ public final class SurvivorChatBridge {
     }
 
     private void broadcastNearby(SimulatedSurvivor survivor, String msg, double radius) {
-        List<ServerPlayer> players = survivor.serverLevel().getPlayers(player -> player.distanceTo(survivor) <= radius);
+        SpatialIndex index = SpatialIndex.instance();
+        int found = index.queryRadius(survivor.getX(), survivor.getY(), survivor.getZ(), radius, SpatialIndex.PLAYERS,
+            recipients);
+        if (found > recipients.length) {
+            recipients = new LivingEntity[found];
+            found = index.queryRadius(survivor.getX(), survivor.getY(), survivor.getZ(), radius, SpatialIndex.PLAYERS,
+                recipients);
+        }
         Component line = Component.literal(msg);
-        for (ServerPlayer player : players) {
-            player.sendSystemMessage(line);
+        for (int i = 0; i < found; i++) {
+            if (recipients[i] instanceof ServerPlayer player) {
+                player.sendSystemMessage(line);
+            }
+            recipients[i] = null;
         }
     }
 
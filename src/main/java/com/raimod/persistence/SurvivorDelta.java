@@ -0,0 +1,183 @@
+package com.raimod.persistence;
+
+import com.raimod.ai.memory.RaidTargetKnowledge;
+import com.raimod.ai.memory.WorldKnowledgePoint;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+
+/**
+ * One journaled change to a survivor's persisted memory.
+ *
+ * <p>Every delta is an upsert or, for {@link Retired}, a removal, so replaying a record that is already reflected in a
+ * snapshot is harmless.
+ */
+sealed interface SurvivorDelta {
+    UUID survivorId();
+
+    /**
+     * @return the survivor's state after this change, or null if the survivor no longer exists
+     */
+    SurvivorSnapshot applyTo(SurvivorSnapshot base);
+
+    CompoundTag toTag();
+
+    static SurvivorDelta fromTag(CompoundTag tag) throws IOException {
+        UUID id = tag.getUUID("Id");
+        return switch (tag.getString("Kind")) {
+            case "full" -> new Full(tag.contains("Payload", Tag.TAG_BYTE_ARRAY)
+                ? SurvivorMemoryCodec.decode(tag.getByteArray("Payload"))
+                : SurvivorSnapshot.fromTag(tag.getCompound("Data")));
+            case "home" -> new Home(id, BlockPos.of(tag.getLong("Pos")));
+            case "chests" -> new Chests(id, chestsFromLongs(tag.getLongArray("Pos")));
+            case "relation" -> new Relation(id, tag.getUUID("Target"), tag.getFloat("Value"));
+            case "raid" -> new RaidTarget(id, SurvivorSnapshot.raidFromTag(tag.getCompound("Data")));
+            case "point" -> new WorldPoint(id, SurvivorSnapshot.pointFromTag(tag.getCompound("Data")));
+            case "retired" -> new Retired(id);
+            default -> throw new IOException("Unknown survivor delta kind " + tag.getString("Kind"));
+        };
+    }
+
+    private static CompoundTag header(UUID id, String kind) {
+        CompoundTag tag = new CompoundTag();
+        tag.putUUID("Id", id);
+        tag.putString("Kind", kind);
+        return tag;
+    }
+
+    private static List<BlockPos> chestsFromLongs(long[] packed) {
+        List<BlockPos> chests = new ArrayList<>(packed.length);
+        for (long pos : packed) {
+            chests.add(BlockPos.of(pos));
+        }
+        return List.copyOf(chests);
+    }
+
+    record Full(SurvivorSnapshot snapshot) implements SurvivorDelta {
+        @Override
+        public UUID survivorId() {
+            return snapshot.id();
+        }
+
+        @Override
+        public SurvivorSnapshot applyTo(SurvivorSnapshot base) {
+            return snapshot;
+        }
+
+        @Override
+        public CompoundTag toTag() {
+            CompoundTag tag = header(snapshot.id(), "full");
+            tag.putByteArray("Payload", SurvivorMemoryCodec.encode(snapshot));
+            return tag;
+        }
+    }
+
+    record Home(UUID survivorId, BlockPos pos) implements SurvivorDelta {
+        @Override
+        public SurvivorSnapshot applyTo(SurvivorSnapshot base) {
+            return new SurvivorSnapshot(base.id(), base.version(), pos, base.knownChests(), base.relations(),
+                base.raidTargets(), base.worldPoints());
+        }
+
+        @Override
+        public CompoundTag toTag() {
+            CompoundTag tag = header(survivorId, "home");
+            tag.putLong("Pos", pos.asLong());
+            return tag;
+        }
+    }
+
+    record Chests(UUID survivorId, List<BlockPos> chests) implements SurvivorDelta {
+        @Override
+        public SurvivorSnapshot applyTo(SurvivorSnapshot base) {
+            return new SurvivorSnapshot(base.id(), base.version(), base.homePosition(), chests, base.relations(),
+                base.raidTargets(), base.worldPoints());
+        }
+
+        @Override
+        public CompoundTag toTag() {
+            CompoundTag tag = header(survivorId, "chests");
+            long[] packed = new long[chests.size()];
+            for (int i = 0; i < packed.length; i++) {
+                packed[i] = chests.get(i).asLong();
+            }
+            tag.putLongArray("Pos", packed);
+            return tag;
+        }
+    }
+
+    record Relation(UUID survivorId, UUID targetId, float value) implements SurvivorDelta {
+        @Override
+        public SurvivorSnapshot applyTo(SurvivorSnapshot base) {
+            Map<UUID, Float> relations = new HashMap<>(base.relations());
+            relations.put(targetId, value);
+            return new SurvivorSnapshot(base.id(), base.version(), base.homePosition(), base.knownChests(),
+                Map.copyOf(relations), base.raidTargets(), base.worldPoints());
+        }
+
+        @Override
+        public CompoundTag toTag() {
+            CompoundTag tag = header(survivorId, "relation");
+            tag.putUUID("Target", targetId);
+            tag.putFloat("Value", value);
+            return tag;
+        }
+    }
+
+    record RaidTarget(UUID survivorId, RaidTargetKnowledge target) implements SurvivorDelta {
+        @Override
+        public SurvivorSnapshot applyTo(SurvivorSnapshot base) {
+            List<RaidTargetKnowledge> targets = new ArrayList<>(base.raidTargets());
+            targets.removeIf(existing -> existing.structureName().equalsIgnoreCase(target.structureName()));
+            targets.add(target);
+            return new SurvivorSnapshot(base.id(), base.version(), base.homePosition(), base.knownChests(),
+                base.relations(), List.copyOf(targets), base.worldPoints());
+        }
+
+        @Override
+        public CompoundTag toTag() {
+            CompoundTag tag = header(survivorId, "raid");
+            tag.put("Data", SurvivorSnapshot.raidToTag(target));
+            return tag;
+        }
+    }
+
+    record WorldPoint(UUID survivorId, WorldKnowledgePoint point) implements SurvivorDelta {
+        @Override
+        public SurvivorSnapshot applyTo(SurvivorSnapshot base) {
+            List<WorldKnowledgePoint> points = new ArrayList<>(base.worldPoints());
+            points.removeIf(existing -> existing.key().equals(point.key()));
+            points.add(point);
+            return new SurvivorSnapshot(base.id(), base.version(), base.homePosition(), base.knownChests(),
+                base.relations(), base.raidTargets(), List.copyOf(points));
+        }
+
+        @Override
+        public CompoundTag toTag() {
+            CompoundTag tag = header(survivorId, "point");
+            tag.put("Data", SurvivorSnapshot.pointToTag(point));
+            return tag;
+        }
+    }
+
+    /**
+     * The survivor was removed from the population, e.g. because the configured cap was lowered.
+     */
+    record Retired(UUID survivorId) implements SurvivorDelta {
+        @Override
+        public SurvivorSnapshot applyTo(SurvivorSnapshot base) {
+            return null;
+        }
+
+        @Override
+        public CompoundTag toTag() {
+            return header(survivorId, "retired");
+        }
+    }
+}
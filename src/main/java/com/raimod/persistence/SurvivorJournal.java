@@ -0,0 +1,440 @@
+package com.raimod.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Single append-only store for every survivor's persisted memory.
+ *
+ * <p>Deltas are framed as {@code [length][crc32][nbt]} and appended to {@code survivors.journal} by one background
+ * thread. Everything queued since the previous commit is written as one batch followed by a single {@code force}, so
+ * a save round costs one fsync regardless of how many survivors changed. Once the journal grows past
+ * {@link #COMPACT_THRESHOLD_BYTES} the folded state is written to {@code survivors.snapshot} with
+ * {@link SurvivorMemoryCodec} and the journal is truncated. Loading reads the snapshot and replays the journal tail up to the first torn or corrupt record.
+ * A snapshot whose framing is truncated or inconsistent fails the load with an {@link IOException}.
+ */
+final class SurvivorJournal {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SurvivorJournal.class);
+    private static final String JOURNAL_FILE = "survivors.journal";
+    private static final String SNAPSHOT_FILE = "survivors.snapshot";
+    private static final String LEGACY_DIR = "legacy";
+    private static final long COMPACT_THRESHOLD_BYTES = 4L * 1024L * 1024L;
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int SNAPSHOT_MAGIC = 0x52414953;
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+    private static final int DECODE_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+    private final Path dir;
+    private final Map<UUID, SurvivorSnapshot> state = new HashMap<>();
+    private final ConcurrentLinkedQueue<SurvivorDelta> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean commitScheduled = new AtomicBoolean();
+    /** Deltas whose append failed, retried ahead of newer ones. Touched only on the journal thread. */
+    private final List<SurvivorDelta> retry = new ArrayList<>();
+    private FileChannel channel;
+    private ExecutorService executor;
+
+    SurvivorJournal(Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Reads the snapshot, replays the journal tail and migrates legacy per-survivor {@code .dat} files.
+     * Must be called once, before the first {@link #append}. On failure the journal is left closed.
+     *
+     * <p>Record decoding is spread over a short-lived worker pool; only the ordered fold runs on the calling thread.
+     *
+     * @return the recovered state of every known survivor
+     */
+    Map<UUID, SurvivorSnapshot> load() throws IOException {
+        Files.createDirectories(dir);
+        ExecutorService decoders = Executors.newFixedThreadPool(DECODE_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "RAI-Survivor-Restore");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Path snapshotFile = dir.resolve(SNAPSHOT_FILE);
+            if (Files.exists(snapshotFile)) {
+                for (SurvivorSnapshot snapshot : readSnapshot(snapshotFile, decoders)) {
+                    state.put(snapshot.id(), snapshot);
+                }
+            }
+
+            channel = FileChannel.open(dir.resolve(JOURNAL_FILE), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            int replayed = replay(decoders);
+            migrateLegacyFiles(decoders);
+            LOGGER.info("Loaded {} survivors from journal ({} records replayed)", state.size(), replayed);
+            return Map.copyOf(state);
+        } catch (IOException e) {
+            closeChannel();
+            state.clear();
+            throw e;
+        } finally {
+            decoders.shutdownNow();
+        }
+    }
+
+    /**
+     * Decodes every input on {@code pool}, preserving input order and dropping entries that fail to decode.
+     */
+    private static <T, R> List<R> decodeAll(ExecutorService pool, List<T> inputs, DecodeFunction<T, R> decoder)
+        throws IOException {
+        List<Future<R>> futures = new ArrayList<>(inputs.size());
+        for (T input : inputs) {
+            futures.add(pool.submit(() -> decoder.decode(input)));
+        }
+
+        List<R> results = new ArrayList<>(inputs.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                LOGGER.warn("Skipping undecodable survivor record #{}", i, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while restoring survivors", e);
+            }
+        }
+        return results;
+    }
+
+    @FunctionalInterface
+    private interface DecodeFunction<T, R> {
+        R decode(T input) throws Exception;
+    }
+
+    /**
+     * Queues deltas for the next group commit. Safe to call from the server thread; never blocks on I/O.
+     */
+    void append(List<SurvivorDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        queue.addAll(deltas);
+        if (commitScheduled.compareAndSet(false, true)) {
+            executor().execute(this::commit);
+        }
+    }
+
+    /**
+     * Commits queued deltas, compacts and closes the journal, waiting at most {@code timeoutMillis}.
+     *
+     * @return true if every queued delta reached disk in time
+     */
+    boolean close(long timeoutMillis) {
+        ExecutorService current = executor();
+        AtomicBoolean flushed = new AtomicBoolean();
+        current.execute(() -> {
+            commit();
+            flushed.set(retry.isEmpty());
+            compact();
+            closeChannel();
+        });
+        current.shutdown();
+        synchronized (this) {
+            executor = null;
+        }
+        try {
+            if (current.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                if (!flushed.get()) {
+                    LOGGER.warn("Closed survivor journal with {} deltas that could not be written", retry.size());
+                }
+                return flushed.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.warn("Timed out flushing survivor journal, {} deltas still queued", queue.size());
+        return false;
+    }
+
+    private synchronized ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "RAI-Survivor-Journal");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    private void commit() {
+        commitScheduled.set(false);
+        if (channel == null) {
+            return;
+        }
+
+        List<SurvivorDelta> batch = new ArrayList<>(retry);
+        retry.clear();
+        for (SurvivorDelta delta; (delta = queue.poll()) != null; ) {
+            batch.add(delta);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            write(batch);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to append {} survivor deltas to journal, retrying with the next commit", batch.size(), e);
+            retry.addAll(batch);
+            return;
+        }
+
+        for (SurvivorDelta delta : batch) {
+            fold(delta);
+        }
+        try {
+            if (channel.size() > COMPACT_THRESHOLD_BYTES) {
+                compact();
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to check survivor journal size", e);
+        }
+    }
+
+    /**
+     * Appends {@code batch} and forces it to disk. On failure the journal is truncated back to where the batch began,
+     * so a partial write never leaves a torn record in front of later appends.
+     */
+    private void write(List<SurvivorDelta> batch) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        CRC32 crc = new CRC32();
+        for (SurvivorDelta delta : batch) {
+            body.reset();
+            NbtIo.write(delta.toTag(), new DataOutputStream(body));
+            byte[] payload = body.toByteArray();
+            crc.reset();
+            crc.update(payload);
+            out.writeInt(payload.length);
+            out.writeInt((int) crc.getValue());
+            out.write(payload);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        long start = channel.size();
+        try {
+            channel.position(start);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            try {
+                channel.truncate(start);
+                channel.position(start);
+            } catch (IOException rollback) {
+                e.addSuppressed(rollback);
+            }
+            throw e;
+        }
+    }
+
+    private void fold(SurvivorDelta delta) {
+        SurvivorSnapshot base = state.getOrDefault(delta.survivorId(), SurvivorSnapshot.empty(delta.survivorId()));
+        SurvivorSnapshot next = delta.applyTo(base);
+        if (next == null) {
+            state.remove(delta.survivorId());
+        } else {
+            state.put(delta.survivorId(), next);
+        }
+    }
+
+    /**
+     * Writes the folded state as a new snapshot and empties the journal. A crash between the rename and the truncate
+     * only leaves records that are replayed onto state already containing them, which deltas tolerate.
+     */
+    private void compact() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            if (channel.size() == 0L) {
+                return;
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(state.size());
+            for (SurvivorSnapshot snapshot : state.values()) {
+                byte[] payload = SurvivorMemoryCodec.encode(snapshot);
+                out.writeInt(payload.length);
+                out.write(payload);
+            }
+
+            Path target = dir.resolve(SNAPSHOT_FILE);
+            Path tmp = dir.resolve(SNAPSHOT_FILE + ".tmp");
+            try (FileChannel file = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+                while (buffer.hasRemaining()) {
+                    file.write(buffer);
+                }
+                file.force(true);
+            }
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            channel.truncate(0L);
+            channel.force(true);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to compact survivor journal", e);
+        }
+    }
+
+    /**
+     * Reads a codec snapshot, or a gzip NBT snapshot written before the binary codec existed.
+     */
+    private List<SurvivorSnapshot> readSnapshot(Path file, ExecutorService decoders) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length >= 2 && (bytes[0] & 0xFF) == 0x1F && (bytes[1] & 0xFF) == 0x8B) {
+            ListTag survivors = NbtIo.readCompressed(new ByteArrayInputStream(bytes), NbtAccounter.unlimitedHeap())
+                .getList("Survivors", Tag.TAG_COMPOUND);
+            List<CompoundTag> entries = new ArrayList<>(survivors.size());
+            for (int i = 0; i < survivors.size(); i++) {
+                entries.add(survivors.getCompound(i));
+            }
+            return decodeAll(decoders, entries, SurvivorSnapshot::fromTag);
+        }
+
+        List<byte[]> payloads;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Unrecognized survivor snapshot " + file);
+            }
+            int count = buffer.getInt();
+            // Every entry needs at least its length prefix.
+            if (count < 0 || count > buffer.remaining() / Integer.BYTES) {
+                throw new IOException("Corrupt survivor snapshot " + file + ": entry count " + count);
+            }
+            payloads = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                if (buffer.remaining() < Integer.BYTES) {
+                    throw new IOException("Corrupt survivor snapshot " + file + ": truncated at entry " + i);
+                }
+                int length = buffer.getInt();
+                if (length < 0 || length > MAX_RECORD_BYTES || length > buffer.remaining()) {
+                    throw new IOException("Corrupt survivor snapshot " + file + ": entry " + i + " length " + length);
+                }
+                byte[] payload = new byte[length];
+                buffer.get(payload);
+                payloads.add(payload);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Corrupt survivor snapshot " + file + ": truncated", e);
+        }
+        return decodeAll(decoders, payloads, SurvivorMemoryCodec::decode);
+    }
+
+    private int replay(ExecutorService decoders) throws IOException {
+        long size = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size, Integer.MAX_VALUE));
+        channel.position(0L);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // keep reading until the buffer is full or the file ends
+        }
+        buffer.flip();
+
+        CRC32 crc = new CRC32();
+        List<byte[]> payloads = new ArrayList<>();
+        long validEnd = 0L;
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length < 0 || length > MAX_RECORD_BYTES || length > buffer.remaining()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            payloads.add(payload);
+            validEnd = buffer.position();
+        }
+
+        if (validEnd < size) {
+            LOGGER.warn("Truncating survivor journal from {} to {} bytes after a torn or corrupt record", size, validEnd);
+            channel.truncate(validEnd);
+        }
+        channel.position(validEnd);
+
+        List<SurvivorDelta> deltas = decodeAll(decoders, payloads, payload -> SurvivorDelta.fromTag(
+            NbtIo.read(new DataInputStream(new ByteArrayInputStream(payload)), NbtAccounter.unlimitedHeap())));
+        deltas.forEach(this::fold);
+        return deltas.size();
+    }
+
+    private void migrateLegacyFiles(ExecutorService decoders) throws IOException {
+        List<Path> legacyFiles;
+        try (var paths = Files.list(dir)) {
+            legacyFiles = paths.filter(path -> path.getFileName().toString().endsWith(".dat")).toList();
+        }
+        if (legacyFiles.isEmpty()) {
+            return;
+        }
+
+        List<SurvivorDelta> migrated = decodeAll(decoders, legacyFiles, path -> new SurvivorDelta.Full(
+            SurvivorSnapshot.fromTag(NbtIo.readCompressed(path, NbtAccounter.unlimitedHeap()))));
+        write(migrated);
+        migrated.forEach(this::fold);
+
+        Path legacyDir = Files.createDirectories(dir.resolve(LEGACY_DIR));
+        for (Path path : legacyFiles) {
+            Files.move(path, legacyDir.resolve(path.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+        }
+        LOGGER.info("Migrated {} legacy survivor files into the journal", migrated.size());
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to close survivor journal", e);
+        }
+        channel = null;
+    }
+}
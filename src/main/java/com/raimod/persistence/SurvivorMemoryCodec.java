@@ -0,0 +1,350 @@
+package com.raimod.persistence;
+
+import com.raimod.ai.memory.RaidTargetKnowledge;
+import com.raimod.ai.memory.WorldKnowledgePoint;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+
+/**
+ * Compact binary layout for {@link SurvivorSnapshot}.
+ *
+ * <p>Integers are zigzag varints, block positions are stored as per-axis deltas from the previous position in the
+ * same list, and the raid target and world point lists are written column by column so each column compresses to
+ * its own narrow range. World point categories are written once into a dictionary and referenced by index.
+ * Payloads start with {@link #VERSION}; the legacy NBT layout is still read through {@link SurvivorSnapshot#fromTag}.
+ * Decoding checks that every column matches its list length and that nothing trails the last column.
+ */
+final class SurvivorMemoryCodec {
+    static final int VERSION = 1;
+
+    private SurvivorMemoryCodec() {
+    }
+
+    static byte[] encode(SurvivorSnapshot snapshot) {
+        Writer out = new Writer();
+        out.varInt(VERSION);
+        out.uuid(snapshot.id());
+        out.pos(snapshot.homePosition(), BlockPos.ZERO);
+
+        out.positions(snapshot.knownChests());
+
+        out.varInt(snapshot.relations().size());
+        for (Map.Entry<UUID, Float> relation : snapshot.relations().entrySet()) {
+            out.uuid(relation.getKey());
+            out.floatValue(relation.getValue());
+        }
+
+        List<RaidTargetKnowledge> raids = snapshot.raidTargets();
+        out.varInt(raids.size());
+        raids.forEach(raid -> out.string(raid.structureName()));
+        out.positions(raids.stream().map(RaidTargetKnowledge::position).toList());
+        raids.forEach(raid -> out.varInt(raid.knownChestCount()));
+        raids.forEach(raid -> out.varInt(raid.defenderCount()));
+        raids.forEach(raid -> out.doubleValue(raid.estimatedLootValue()));
+        raids.forEach(raid -> out.doubleValue(raid.expectedRaidCost()));
+        raids.forEach(raid -> out.varInt(raid.wallHardness()));
+        BitSet knownEntry = new BitSet(raids.size());
+        for (int i = 0; i < raids.size(); i++) {
+            knownEntry.set(i, raids.get(i).hasKnownEntryPoint());
+        }
+        out.bits(knownEntry, raids.size());
+
+        List<WorldKnowledgePoint> points = snapshot.worldPoints();
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (WorldKnowledgePoint point : points) {
+            dictionary.putIfAbsent(point.category(), dictionary.size());
+        }
+        out.varInt(dictionary.size());
+        dictionary.keySet().forEach(out::string);
+        out.varInt(points.size());
+        points.forEach(point -> out.string(point.key()));
+        out.positions(points.stream().map(WorldKnowledgePoint::pos).toList());
+        points.forEach(point -> out.varInt(dictionary.get(point.category())));
+        points.forEach(point -> out.floatValue(point.danger()));
+        long previousTick = 0L;
+        for (WorldKnowledgePoint point : points) {
+            out.varLong(point.lastVerifiedTick() - previousTick);
+            previousTick = point.lastVerifiedTick();
+        }
+        BitSet revalidate = new BitSet(points.size());
+        for (int i = 0; i < points.size(); i++) {
+            revalidate.set(i, points.get(i).needsRevalidation());
+        }
+        out.bits(revalidate, points.size());
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws IOException if the payload is truncated, inconsistent or from an unknown codec version
+     */
+    static SurvivorSnapshot decode(byte[] payload) throws IOException {
+        try {
+            return read(new Reader(ByteBuffer.wrap(payload)));
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Corrupt survivor memory payload: truncated", e);
+        } catch (ArithmeticException | IllegalArgumentException e) {
+            throw new IOException("Corrupt survivor memory payload: " + e.getMessage(), e);
+        }
+    }
+
+    private static SurvivorSnapshot read(Reader in) throws IOException {
+        int version = in.varInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported survivor memory codec version " + version);
+        }
+
+        UUID id = in.uuid();
+        BlockPos home = in.pos(BlockPos.ZERO);
+        List<BlockPos> chests = in.positions();
+
+        int relationCount = in.count();
+        Map<UUID, Float> relations = new HashMap<>(relationCount * 2);
+        for (int i = 0; i < relationCount; i++) {
+            relations.put(in.uuid(), in.floatValue());
+        }
+
+        int raidCount = in.count();
+        String[] names = new String[raidCount];
+        for (int i = 0; i < raidCount; i++) {
+            names[i] = in.string();
+        }
+        List<BlockPos> raidPositions = in.positions();
+        expectColumn("raid positions", raidPositions.size(), raidCount);
+        int[] chestCounts = in.varInts(raidCount);
+        int[] defenders = in.varInts(raidCount);
+        double[] loot = in.doubles(raidCount);
+        double[] costs = in.doubles(raidCount);
+        int[] hardness = in.varInts(raidCount);
+        BitSet knownEntry = in.bits(raidCount);
+        List<RaidTargetKnowledge> raids = new ArrayList<>(raidCount);
+        for (int i = 0; i < raidCount; i++) {
+            raids.add(new RaidTargetKnowledge(names[i], raidPositions.get(i), chestCounts[i], defenders[i], loot[i],
+                costs[i], hardness[i], knownEntry.get(i)));
+        }
+
+        int dictionarySize = in.count();
+        String[] categories = new String[dictionarySize];
+        for (int i = 0; i < dictionarySize; i++) {
+            categories[i] = in.string();
+        }
+        int pointCount = in.count();
+        String[] keys = new String[pointCount];
+        for (int i = 0; i < pointCount; i++) {
+            keys[i] = in.string();
+        }
+        List<BlockPos> pointPositions = in.positions();
+        expectColumn("world point positions", pointPositions.size(), pointCount);
+        int[] categoryIndex = in.varInts(pointCount);
+        for (int index : categoryIndex) {
+            if (index < 0 || index >= dictionarySize) {
+                throw new IOException("Corrupt survivor memory payload: category index " + index + " outside dictionary of "
+                    + dictionarySize);
+            }
+        }
+        float[] danger = new float[pointCount];
+        for (int i = 0; i < pointCount; i++) {
+            danger[i] = in.floatValue();
+        }
+        long[] verified = new long[pointCount];
+        long previousTick = 0L;
+        for (int i = 0; i < pointCount; i++) {
+            previousTick += in.varLong();
+            verified[i] = previousTick;
+        }
+        BitSet revalidate = in.bits(pointCount);
+        if (in.remaining() > 0) {
+            throw new IOException("Corrupt survivor memory payload: " + in.remaining() + " trailing bytes");
+        }
+        List<WorldKnowledgePoint> points = new ArrayList<>(pointCount);
+        for (int i = 0; i < pointCount; i++) {
+            points.add(new WorldKnowledgePoint(keys[i], pointPositions.get(i), categories[categoryIndex[i]], danger[i],
+                verified[i], revalidate.get(i)));
+        }
+
+        return new SurvivorSnapshot(id, 0L, home, chests, Map.copyOf(relations), List.copyOf(raids),
+            List.copyOf(points));
+    }
+
+    private static void expectColumn(String column, int actual, int expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Corrupt survivor memory payload: " + actual + " " + column + " for " + expected
+                + " entries");
+        }
+    }
+
+    private static final class Writer {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+
+        void varInt(int value) {
+            varLong(value);
+        }
+
+        void varLong(long value) {
+            long zigzag = (value << 1) ^ (value >> 63);
+            while ((zigzag & ~0x7FL) != 0L) {
+                bytes.write((int) ((zigzag & 0x7F) | 0x80));
+                zigzag >>>= 7;
+            }
+            bytes.write((int) zigzag);
+        }
+
+        void uuid(UUID id) {
+            fixedLong(id.getMostSignificantBits());
+            fixedLong(id.getLeastSignificantBits());
+        }
+
+        void fixedLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes.write((int) (value >>> shift));
+            }
+        }
+
+        void floatValue(float value) {
+            int bits = Float.floatToIntBits(value);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                bytes.write(bits >>> shift);
+            }
+        }
+
+        void doubleValue(double value) {
+            fixedLong(Double.doubleToLongBits(value));
+        }
+
+        void string(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varInt(utf8.length);
+            bytes.writeBytes(utf8);
+        }
+
+        void pos(BlockPos pos, BlockPos previous) {
+            varInt(pos.getX() - previous.getX());
+            varInt(pos.getY() - previous.getY());
+            varInt(pos.getZ() - previous.getZ());
+        }
+
+        void positions(List<BlockPos> positions) {
+            varInt(positions.size());
+            BlockPos previous = BlockPos.ZERO;
+            for (BlockPos pos : positions) {
+                pos(pos, previous);
+                previous = pos;
+            }
+        }
+
+        void bits(BitSet bits, int count) {
+            byte[] packed = bits.toByteArray();
+            int length = (count + 7) / 8;
+            for (int i = 0; i < length; i++) {
+                bytes.write(i < packed.length ? packed[i] : 0);
+            }
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+
+    private static final class Reader {
+        private final ByteBuffer buffer;
+
+        Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int varInt() {
+            return Math.toIntExact(varLong());
+        }
+
+        /**
+         * Reads a list length and rejects values that cannot fit in the remaining payload.
+         */
+        int count() {
+            int count = varInt();
+            if (count < 0 || count > buffer.remaining()) {
+                throw new IllegalArgumentException("list length " + count);
+            }
+            return count;
+        }
+
+        long varLong() {
+            long zigzag = 0L;
+            for (int shift = 0; ; shift += 7) {
+                if (shift >= 64) {
+                    throw new IllegalArgumentException("varint too long");
+                }
+                byte next = buffer.get();
+                zigzag |= (long) (next & 0x7F) << shift;
+                if ((next & 0x80) == 0) {
+                    break;
+                }
+            }
+            return (zigzag >>> 1) ^ -(zigzag & 1L);
+        }
+
+        int[] varInts(int count) {
+            int[] values = new int[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = varInt();
+            }
+            return values;
+        }
+
+        double[] doubles(int count) {
+            double[] values = new double[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = buffer.getDouble();
+            }
+            return values;
+        }
+
+        UUID uuid() {
+            return new UUID(buffer.getLong(), buffer.getLong());
+        }
+
+        float floatValue() {
+            return buffer.getFloat();
+        }
+
+        String string() {
+            byte[] utf8 = new byte[count()];
+            buffer.get(utf8);
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        BlockPos pos(BlockPos previous) {
+            return previous.offset(varInt(), varInt(), varInt());
+        }
+
+        List<BlockPos> positions() {
+            int count = count();
+            List<BlockPos> positions = new ArrayList<>(count);
+            BlockPos previous = BlockPos.ZERO;
+            for (int i = 0; i < count; i++) {
+                previous = pos(previous);
+                positions.add(previous);
+            }
+            return List.copyOf(positions);
+        }
+
+        BitSet bits(int count) {
+            byte[] packed = new byte[(count + 7) / 8];
+            buffer.get(packed);
+            return BitSet.valueOf(packed);
+        }
+
+        int remaining() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -1,179 +1,192 @@
 package com.raimod.persistence;
 
+import com.raimod.ai.memory.MemoryChanges;
 import com.raimod.ai.memory.RaidTargetKnowledge;
 import com.raimod.ai.memory.SurvivorMemory;
 import com.raimod.ai.memory.WorldKnowledgePoint;
-import com.raimod.config.RAIServerConfig;
 import com.raimod.entity.SimulatedSurvivor;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import net.minecraft.core.BlockPos;
-import net.minecraft.nbt.CompoundTag;
-import net.minecraft.nbt.ListTag;
-import net.minecraft.nbt.NbtIo;
-import net.minecraft.nbt.StringTag;
-import net.minecraft.nbt.Tag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.storage.LevelResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public final class SurvivorPersistence {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SurvivorPersistence.class);
+    private static final long REOPEN_FLUSH_TIMEOUT_MS = 5000L;
+
     private final Map<UUID, SimulatedSurvivor> loaded = new HashMap<>();
+    private final Map<UUID, SurvivorMemory> memories = new HashMap<>();
+    private final Set<UUID> journaled = new HashSet<>();
+    private SurvivorJournal journal;
 
     public void store(ServerLevel level, SimulatedSurvivor survivor) {
-        loaded.put(survivor.id(), survivor);
+        attach(survivor);
         saveToDisk(level, survivor.id());
     }
 
+    /**
+     * Makes an in-world survivor active again, e.g. when it is re-materialized from the off-world simulation.
+     */
+    public void attach(SimulatedSurvivor survivor) {
+        loaded.put(survivor.id(), survivor);
+        memories.put(survivor.id(), survivor.memory());
+    }
+
+    /**
+     * Removes the survivor's entity from the active set while its memory keeps being persisted.
+     */
+    public SimulatedSurvivor detach(UUID id) {
+        return loaded.remove(id);
+    }
+
+    /**
+     * Removes the survivor from the population for good and journals the removal so it is not restored again.
+     */
+    public void retire(UUID id) {
+        loaded.remove(id);
+        memories.remove(id);
+        journaled.remove(id);
+        if (journal != null) {
+            journal.append(List.of(new SurvivorDelta.Retired(id)));
+        }
+    }
+
     public List<SimulatedSurvivor> activeSurvivors(ServerLevel level) {
         return new ArrayList<>(loaded.values());
     }
 
+    public int activeCount() {
+        return loaded.size();
+    }
+
+    /**
+     * Whether the journal loaded. While it has not, nothing is saved and the director must not spawn survivors, or
+     * fresh ones would later be written over the population that failed to load.
+     */
+    public boolean isAvailable() {
+        return journal != null;
+    }
+
+    public int knownSurvivorCount() {
+        return memories.size();
+    }
+
+    /**
+     * Journals what changed in every survivor's memory since its last save. Survivors that were never journaled, or
+     * whose memory was bulk-replaced, are written as a full record; everything else as per-field deltas.
+     */
     public void saveAll(ServerLevel level) {
-        for (UUID id : loaded.keySet()) {
-            saveToDisk(level, id);
+        if (journal == null) {
+            return;
+        }
+        List<SurvivorDelta> deltas = new ArrayList<>();
+        for (UUID id : memories.keySet()) {
+            collectDeltas(id, deltas);
         }
+        journal.append(deltas);
     }
 
     public void saveToDisk(ServerLevel level, UUID id) {
-        SimulatedSurvivor survivor = loaded.get(id);
-        if (survivor == null) {
+        if (journal == null) {
             return;
         }
+        List<SurvivorDelta> deltas = new ArrayList<>();
+        collectDeltas(id, deltas);
+        journal.append(deltas);
+    }
 
-        CompoundTag root = new CompoundTag();
-        root.putUUID("Id", id);
-
-        SurvivorMemory memory = survivor.memory();
-        root.putLong("HomePos", memory.homePosition().asLong());
+    private void collectDeltas(UUID id, List<SurvivorDelta> out) {
+        SurvivorMemory memory = memories.get(id);
+        if (memory == null) {
+            return;
+        }
 
-        ListTag chests = new ListTag();
-        for (BlockPos chest : memory.knownChests()) {
-            chests.add(StringTag.valueOf(Long.toString(chest.asLong())));
+        MemoryChanges changes = memory.drainChanges();
+        if (changes.full() || journaled.add(id)) {
+            out.add(new SurvivorDelta.Full(SurvivorSnapshot.of(memory)));
+            return;
         }
-        root.put("KnownChests", chests);
-
-        ListTag relations = new ListTag();
-        for (Map.Entry<UUID, Float> entry : memory.relations().entrySet()) {
-            CompoundTag relation = new CompoundTag();
-            relation.putUUID("Player", entry.getKey());
-            relation.putFloat("Value", entry.getValue());
-            relations.add(relation);
+        if (changes.home()) {
+            out.add(new SurvivorDelta.Home(id, memory.homePosition()));
         }
-        root.put("Relations", relations);
-
-        ListTag raids = new ListTag();
-        for (RaidTargetKnowledge raid : memory.raidTargets()) {
-            CompoundTag raidTag = new CompoundTag();
-            raidTag.putString("Name", raid.structureName());
-            raidTag.putLong("Pos", raid.position().asLong());
-            raidTag.putInt("KnownChestCount", raid.knownChestCount());
-            raidTag.putInt("DefenderCount", raid.defenderCount());
-            raidTag.putDouble("EstimatedLootValue", raid.estimatedLootValue());
-            raidTag.putDouble("ExpectedRaidCost", raid.expectedRaidCost());
-            raidTag.putInt("WallHardness", raid.wallHardness());
-            raidTag.putBoolean("KnownEntry", raid.hasKnownEntryPoint());
-            raids.add(raidTag);
+        if (changes.chests()) {
+            out.add(new SurvivorDelta.Chests(id, memory.knownChests()));
         }
-        root.put("RaidTargets", raids);
-
-        ListTag points = new ListTag();
-        for (WorldKnowledgePoint point : memory.worldPoints()) {
-            CompoundTag pointTag = new CompoundTag();
-            pointTag.putString("Key", point.key());
-            pointTag.putLong("Pos", point.pos().asLong());
-            pointTag.putString("Category", point.category());
-            pointTag.putFloat("Danger", point.danger());
-            pointTag.putLong("LastVerified", point.lastVerifiedTick());
-            pointTag.putBoolean("NeedsRevalidation", point.needsRevalidation());
-            points.add(pointTag);
+        for (UUID target : changes.relations()) {
+            out.add(new SurvivorDelta.Relation(id, target, memory.relationOf(target)));
+        }
+        if (!changes.raidTargets().isEmpty()) {
+            for (RaidTargetKnowledge raid : memory.raidTargets()) {
+                if (changes.raidTargets().contains(raid.structureName().toLowerCase(Locale.ROOT))) {
+                    out.add(new SurvivorDelta.RaidTarget(id, raid));
+                }
+            }
+        }
+        if (!changes.worldPoints().isEmpty()) {
+            for (WorldKnowledgePoint point : memory.worldPoints()) {
+                if (changes.worldPoints().contains(point.key())) {
+                    out.add(new SurvivorDelta.WorldPoint(id, point));
+                }
+            }
         }
-        root.put("WorldPoints", points);
+    }
 
-        try {
-            Path path = storageDir(level).resolve(id + ".dat");
-            Files.createDirectories(path.getParent());
-            NbtIo.writeCompressed(root, path);
-        } catch (IOException ignored) {
+    /**
+     * Journals pending changes and blocks until they are on disk or {@code timeoutMillis} elapses.
+     */
+    public void close(ServerLevel level, long timeoutMillis) {
+        if (journal == null) {
+            return;
         }
+        saveAll(level);
+        long started = System.nanoTime();
+        boolean complete = journal.close(timeoutMillis);
+        journal = null;
+        LOGGER.info("Flushed survivor journal in {} ms (complete={})", (System.nanoTime() - started) / 1_000_000L, complete);
     }
 
-    public List<SimulatedSurvivor> restore(ServerLevel level, RAIServerConfig.RuntimeValues config) {
+    /**
+     * Loads every persisted survivor as memory only. No entities are created here; the director builds a survivor's
+     * {@link SimulatedSurvivor} the first time it is materialized and hands it back through {@link #attach}.
+     * If the journal cannot be read, nothing is restored and {@link #isAvailable()} stays false.
+     */
+    public List<SurvivorMemory> restore(ServerLevel level) {
+        close(level, REOPEN_FLUSH_TIMEOUT_MS);
         loaded.clear();
-        Path dir = storageDir(level);
-        if (!Files.exists(dir)) {
+        memories.clear();
+        journaled.clear();
+        SurvivorJournal opened = new SurvivorJournal(storageDir(level));
+
+        Map<UUID, SurvivorSnapshot> snapshots;
+        try {
+            snapshots = opened.load();
+        } catch (IOException e) {
+            LOGGER.error("Failed to load survivor journal from {}, survivors will not be spawned or saved",
+                storageDir(level), e);
             return List.of();
         }
-
-        try (var paths = Files.list(dir)) {
-            paths.filter(path -> path.getFileName().toString().endsWith(".dat")).forEach(path -> {
-                try {
-                    CompoundTag root = NbtIo.readCompressed(path);
-                    UUID id = root.getUUID("Id");
-                    SimulatedSurvivor survivor = SimulatedSurvivor.bootstrap(id, config, level);
-                    SurvivorMemory memory = survivor.memory();
-
-                    memory.setHomePosition(BlockPos.of(root.getLong("HomePos")));
-
-                    ListTag chests = root.getList("KnownChests", Tag.TAG_STRING);
-                    List<BlockPos> knownChests = new ArrayList<>();
-                    for (int i = 0; i < chests.size(); i++) {
-                        knownChests.add(BlockPos.of(Long.parseLong(chests.getString(i))));
-                    }
-                    memory.setKnownChests(knownChests);
-
-                    ListTag relations = root.getList("Relations", Tag.TAG_COMPOUND);
-                    Map<UUID, Float> relationMap = new HashMap<>();
-                    for (int i = 0; i < relations.size(); i++) {
-                        CompoundTag relation = relations.getCompound(i);
-                        relationMap.put(relation.getUUID("Player"), relation.getFloat("Value"));
-                    }
-                    memory.replaceRelations(relationMap);
-
-                    ListTag raidTags = root.getList("RaidTargets", Tag.TAG_COMPOUND);
-                    List<RaidTargetKnowledge> raids = new ArrayList<>();
-                    for (int i = 0; i < raidTags.size(); i++) {
-                        CompoundTag raidTag = raidTags.getCompound(i);
-                        raids.add(new RaidTargetKnowledge(
-                            raidTag.getString("Name"),
-                            BlockPos.of(raidTag.getLong("Pos")),
-                            raidTag.getInt("KnownChestCount"),
-                            raidTag.getInt("DefenderCount"),
-                            raidTag.getDouble("EstimatedLootValue"),
-                            raidTag.getDouble("ExpectedRaidCost"),
-                            raidTag.getInt("WallHardness"),
-                            raidTag.getBoolean("KnownEntry")
-                        ));
-                    }
-                    memory.replaceRaidTargets(raids);
-
-                    ListTag worldPointTags = root.getList("WorldPoints", Tag.TAG_COMPOUND);
-                    List<WorldKnowledgePoint> points = new ArrayList<>();
-                    for (int i = 0; i < worldPointTags.size(); i++) {
-                        CompoundTag pointTag = worldPointTags.getCompound(i);
-                        points.add(new WorldKnowledgePoint(
-                            pointTag.getString("Key"),
-                            BlockPos.of(pointTag.getLong("Pos")),
-                            pointTag.getString("Category"),
-                            pointTag.getFloat("Danger"),
-                            pointTag.getLong("LastVerified"),
-                            pointTag.getBoolean("NeedsRevalidation")
-                        ));
-                    }
-                    memory.replaceWorldPoints(points);
-                    loaded.put(id, survivor);
-                } catch (Exception ignored) {
-                }
-            });
-        } catch (IOException ignored) {
+        journal = opened;
+
+        List<SurvivorMemory> restored = new ArrayList<>(snapshots.size());
+        for (SurvivorSnapshot snapshot : snapshots.values()) {
+            SurvivorMemory memory = SurvivorMemory.createEmpty(snapshot.id());
+            snapshot.applyTo(memory);
+            memory.drainChanges();
+            memories.put(snapshot.id(), memory);
+            journaled.add(snapshot.id());
+            restored.add(memory);
         }
-
-        return new ArrayList<>(loaded.values());
+        return restored;
     }
 
     private Path storageDir(ServerLevel level) {
@@ -0,0 +1,142 @@
+package com.raimod.persistence;
+
+import com.raimod.ai.memory.RaidTargetKnowledge;
+import com.raimod.ai.memory.SurvivorMemory;
+import com.raimod.ai.memory.WorldKnowledgePoint;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+
+/**
+ * Immutable copy of the persisted part of a {@link SurvivorMemory}.
+ *
+ * <p>Taken on the server thread (list copies only) and safe to encode on a background thread with
+ * {@link SurvivorMemoryCodec}.
+ */
+public record SurvivorSnapshot(
+    UUID id,
+    long version,
+    BlockPos homePosition,
+    List<BlockPos> knownChests,
+    Map<UUID, Float> relations,
+    List<RaidTargetKnowledge> raidTargets,
+    List<WorldKnowledgePoint> worldPoints
+) {
+    public static SurvivorSnapshot empty(UUID id) {
+        return new SurvivorSnapshot(id, 0L, BlockPos.ZERO, List.of(), Map.of(), List.of(), List.of());
+    }
+
+    public static SurvivorSnapshot of(SurvivorMemory memory) {
+        return new SurvivorSnapshot(
+            memory.survivorId(),
+            memory.version(),
+            memory.homePosition(),
+            memory.knownChests(),
+            memory.relations(),
+            memory.raidTargets(),
+            memory.worldPoints()
+        );
+    }
+
+    public void applyTo(SurvivorMemory memory) {
+        memory.setHomePosition(homePosition);
+        memory.setKnownChests(knownChests);
+        memory.replaceRelations(relations);
+        memory.replaceRaidTargets(raidTargets);
+        memory.replaceWorldPoints(worldPoints);
+    }
+
+    /**
+     * Reads the original NBT layout, kept for migrating legacy {@code .dat} files and older journal records.
+     */
+    public static SurvivorSnapshot fromTag(CompoundTag root) {
+        ListTag chests = root.getList("KnownChests", Tag.TAG_STRING);
+        List<BlockPos> knownChests = new ArrayList<>();
+        for (int i = 0; i < chests.size(); i++) {
+            knownChests.add(BlockPos.of(Long.parseLong(chests.getString(i))));
+        }
+
+        ListTag relationTags = root.getList("Relations", Tag.TAG_COMPOUND);
+        Map<UUID, Float> relationMap = new HashMap<>();
+        for (int i = 0; i < relationTags.size(); i++) {
+            CompoundTag relation = relationTags.getCompound(i);
+            relationMap.put(relation.getUUID("Player"), relation.getFloat("Value"));
+        }
+
+        ListTag raidTags = root.getList("RaidTargets", Tag.TAG_COMPOUND);
+        List<RaidTargetKnowledge> raids = new ArrayList<>();
+        for (int i = 0; i < raidTags.size(); i++) {
+            raids.add(raidFromTag(raidTags.getCompound(i)));
+        }
+
+        ListTag worldPointTags = root.getList("WorldPoints", Tag.TAG_COMPOUND);
+        List<WorldKnowledgePoint> points = new ArrayList<>();
+        for (int i = 0; i < worldPointTags.size(); i++) {
+            points.add(pointFromTag(worldPointTags.getCompound(i)));
+        }
+
+        return new SurvivorSnapshot(
+            root.getUUID("Id"),
+            0L,
+            BlockPos.of(root.getLong("HomePos")),
+            List.copyOf(knownChests),
+            Map.copyOf(relationMap),
+            List.copyOf(raids),
+            List.copyOf(points)
+        );
+    }
+
+    static CompoundTag raidToTag(RaidTargetKnowledge raid) {
+        CompoundTag raidTag = new CompoundTag();
+        raidTag.putString("Name", raid.structureName());
+        raidTag.putLong("Pos", raid.position().asLong());
+        raidTag.putInt("KnownChestCount", raid.knownChestCount());
+        raidTag.putInt("DefenderCount", raid.defenderCount());
+        raidTag.putDouble("EstimatedLootValue", raid.estimatedLootValue());
+        raidTag.putDouble("ExpectedRaidCost", raid.expectedRaidCost());
+        raidTag.putInt("WallHardness", raid.wallHardness());
+        raidTag.putBoolean("KnownEntry", raid.hasKnownEntryPoint());
+        return raidTag;
+    }
+
+    static RaidTargetKnowledge raidFromTag(CompoundTag raidTag) {
+        return new RaidTargetKnowledge(
+            raidTag.getString("Name"),
+            BlockPos.of(raidTag.getLong("Pos")),
+            raidTag.getInt("KnownChestCount"),
+            raidTag.getInt("DefenderCount"),
+            raidTag.getDouble("EstimatedLootValue"),
+            raidTag.getDouble("ExpectedRaidCost"),
+            raidTag.getInt("WallHardness"),
+            raidTag.getBoolean("KnownEntry")
+        );
+    }
+
+    static CompoundTag pointToTag(WorldKnowledgePoint point) {
+        CompoundTag pointTag = new CompoundTag();
+        pointTag.putString("Key", point.key());
+        pointTag.putLong("Pos", point.pos().asLong());
+        pointTag.putString("Category", point.category());
+        pointTag.putFloat("Danger", point.danger());
+        pointTag.putLong("LastVerified", point.lastVerifiedTick());
+        pointTag.putBoolean("NeedsRevalidation", point.needsRevalidation());
+        return pointTag;
+    }
+
+    static WorldKnowledgePoint pointFromTag(CompoundTag pointTag) {
+        return new WorldKnowledgePoint(
+            pointTag.getString("Key"),
+            BlockPos.of(pointTag.getLong("Pos")),
+            pointTag.getString("Category"),
+            pointTag.getFloat("Danger"),
+            pointTag.getLong("LastVerified"),
+            pointTag.getBoolean("NeedsRevalidation")
+        );
+    }
+}
@@ -0,0 +1,101 @@
+package com.raimod.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SurvivorJournalTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void appendAfterTornTailSurvivesReload() throws IOException {
+        SurvivorSnapshot first = snapshot(new BlockPos(10, 64, -3));
+        SurvivorSnapshot second = snapshot(new BlockPos(-200, 70, 45));
+
+        SurvivorJournal journal = new SurvivorJournal(dir);
+        journal.load();
+        journal.append(List.of(new SurvivorDelta.Full(first)));
+        assertTrue(journal.close(5_000L));
+
+        // A header promising more bytes than were written, as left by a crash mid-append.
+        try (FileChannel file = FileChannel.open(dir.resolve("survivors.journal"), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            file.write(ByteBuffer.allocate(12).putInt(4096).putInt(0x1234).putInt(0xCAFE).flip());
+        }
+
+        journal = new SurvivorJournal(dir);
+        Map<UUID, SurvivorSnapshot> reloaded = journal.load();
+        assertEquals(first.homePosition(), reloaded.get(first.id()).homePosition());
+        journal.append(List.of(new SurvivorDelta.Full(second)));
+        assertTrue(journal.close(5_000L));
+
+        Map<UUID, SurvivorSnapshot> state = new SurvivorJournal(dir).load();
+        assertEquals(2, state.size());
+        assertEquals(first.homePosition(), state.get(first.id()).homePosition());
+        assertEquals(second.homePosition(), state.get(second.id()).homePosition());
+    }
+
+    @Test
+    void tornTailIsDroppedWithoutLosingEarlierRecords() throws IOException {
+        SurvivorSnapshot first = snapshot(new BlockPos(1, 2, 3));
+        SurvivorJournal journal = new SurvivorJournal(dir);
+        journal.load();
+        journal.append(List.of(new SurvivorDelta.Full(first)));
+        journal.close(5_000L);
+
+        try (FileChannel file = FileChannel.open(dir.resolve("survivors.journal"), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            file.write(ByteBuffer.wrap(new byte[] {0, 0, 0}));
+        }
+
+        Map<UUID, SurvivorSnapshot> state = new SurvivorJournal(dir).load();
+        assertEquals(1, state.size());
+        assertEquals(first.homePosition(), state.get(first.id()).homePosition());
+    }
+
+    @Test
+    void truncatedSnapshotFailsTheLoad() throws IOException {
+        SurvivorJournal journal = new SurvivorJournal(dir);
+        journal.load();
+        journal.append(List.of(new SurvivorDelta.Full(snapshot(new BlockPos(5, 60, 5))),
+            new SurvivorDelta.Full(snapshot(new BlockPos(-5, 60, -5)))));
+        assertTrue(journal.close(5_000L));
+
+        Path snapshotFile = dir.resolve("survivors.snapshot");
+        byte[] bytes = Files.readAllBytes(snapshotFile);
+        for (int length : new int[] {6, 10, bytes.length - 3}) {
+            Files.write(snapshotFile, Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> new SurvivorJournal(dir).load(), "length " + length);
+        }
+    }
+
+    @Test
+    void snapshotWithImpossibleCountsFailsTheLoad() throws IOException {
+        Path snapshotFile = dir.resolve("survivors.snapshot");
+        Files.createDirectories(dir);
+        Files.write(snapshotFile, ByteBuffer.allocate(8).putInt(0x52414953).putInt(Integer.MAX_VALUE).array());
+        assertThrows(IOException.class, () -> new SurvivorJournal(dir).load());
+
+        Files.write(snapshotFile, ByteBuffer.allocate(12).putInt(0x52414953).putInt(1).putInt(-4).array());
+        assertThrows(IOException.class, () -> new SurvivorJournal(dir).load());
+    }
+
+    private static SurvivorSnapshot snapshot(BlockPos home) {
+        return new SurvivorSnapshot(UUID.randomUUID(), 1L, home, List.of(home.above()), Map.of(), List.of(), List.of());
+    }
+}
@@ -0,0 +1,57 @@
+package com.raimod.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.raimod.ai.memory.RaidTargetKnowledge;
+import com.raimod.ai.memory.WorldKnowledgePoint;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import org.junit.jupiter.api.Test;
+
+class SurvivorMemoryCodecTest {
+    private static final SurvivorSnapshot SNAPSHOT = new SurvivorSnapshot(
+        new UUID(0x1234L, 0x5678L),
+        0L,
+        new BlockPos(-120, 64, 3_000_000),
+        List.of(new BlockPos(-118, 63, 3_000_002), new BlockPos(-130, -40, 2_999_990)),
+        Map.of(new UUID(1L, 2L), 0.75f, new UUID(3L, 4L), -1.0f),
+        List.of(
+            new RaidTargetKnowledge("village", new BlockPos(400, 70, -250), 6, 2, 320.5, 88.0, 1, true),
+            new RaidTargetKnowledge("bunker", new BlockPos(-4000, 12, 900), 0, 0, 0.0, 12.5, 3, false)),
+        List.of(
+            new WorldKnowledgePoint("cave_1", new BlockPos(10, -20, 10), "cave", 0.25f, 24_000L, false),
+            new WorldKnowledgePoint("outpost", new BlockPos(900, 80, 900), "structure", 0.9f, 48_512L, true),
+            new WorldKnowledgePoint("cave_2", new BlockPos(12, -22, 8), "cave", 0.0f, 12_000L, true)));
+
+    @Test
+    void roundTripsEveryColumn() throws IOException {
+        assertEquals(SNAPSHOT, SurvivorMemoryCodec.decode(SurvivorMemoryCodec.encode(SNAPSHOT)));
+    }
+
+    @Test
+    void roundTripsEmptySnapshot() throws IOException {
+        SurvivorSnapshot empty = SurvivorSnapshot.empty(new UUID(9L, 9L));
+        assertEquals(empty, SurvivorMemoryCodec.decode(SurvivorMemoryCodec.encode(empty)));
+    }
+
+    @Test
+    void rejectsTruncatedPayloads() {
+        byte[] payload = SurvivorMemoryCodec.encode(SNAPSHOT);
+        for (int length = 0; length < payload.length; length++) {
+            byte[] truncated = Arrays.copyOf(payload, length);
+            assertThrows(IOException.class, () -> SurvivorMemoryCodec.decode(truncated), "length " + length);
+        }
+    }
+
+    @Test
+    void rejectsTrailingBytes() {
+        byte[] payload = SurvivorMemoryCodec.encode(SNAPSHOT);
+        byte[] padded = Arrays.copyOf(payload, payload.length + 1);
+        assertThrows(IOException.class, () -> SurvivorMemoryCodec.decode(padded));
+    }
+}